@@ -0,0 +1,43 @@
+package com.khartoum.saas;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Boots the manager on a random port against an in-memory H2 database (PostgreSQL mode),
+ * so benchmarks exercise the real beans without a cluster or AWS account. The schema comes
+ * from the same Flyway migrations as production.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        return start(new Class<?>[0], extraProperties);
+    }
+
+    /**
+     * @param extraSources additional bean sources, e.g. simulated backends marked {@code @Primary}
+     */
+    public static ConfigurableApplicationContext start(Class<?>[] extraSources, String... extraProperties) {
+        // Passed as command-line arguments so they take precedence over application.yml
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--aws.route53.hosted-zone-id=ZBENCHMARK",
+            "--usage.initial-delay-ms=86400000",
+            "--logging.level.root=WARN"));
+        Arrays.stream(extraProperties).map(p -> "--" + p).forEach(args::add);
+        return new SpringApplicationBuilder(SaasManagerApplication.class)
+            .sources(extraSources)
+            .run(args.toArray(String[]::new));
+    }
+}
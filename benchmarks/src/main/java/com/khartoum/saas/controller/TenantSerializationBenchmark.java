@@ -0,0 +1,62 @@
+package com.khartoum.saas.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.model.TenantTier;
+import com.khartoum.saas.service.TenantService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/tenants for large fleets: entity-to-DTO mapping plus Jackson serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TenantSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int tenantCount;
+
+    private TenantController controller;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        List<Tenant> tenants = new ArrayList<>(tenantCount);
+        for (int i = 0; i < tenantCount; i++) {
+            Tenant t = new Tenant();
+            t.setId((long) i);
+            t.setSubdomain("tenant" + i);
+            t.setDomain("42khartoum.com");
+            t.setDatabaseName("tenant" + i + ".42khartoum.com");
+            t.setUrl("https://tenant" + i + ".42khartoum.com");
+            t.setStatus(TenantStatus.ACTIVE);
+            t.setTier(i % 10 == 0 ? TenantTier.PREMIUM : TenantTier.SHARED);
+            tenants.add(t);
+        }
+
+        TenantService tenantService = new TenantService(null, null, null) {
+            @Override
+            public List<Tenant> getAllTenants() {
+                return tenants;
+            }
+        };
+        controller = new TenantController(tenantService, null, null);
+        // Same defaults Spring Boot applies to the MVC ObjectMapper
+        objectMapper = new Jackson2ObjectMapperBuilder().build();
+    }
+
+    @Benchmark
+    public byte[] listTenants() throws Exception {
+        return objectMapper.writeValueAsBytes(controller.getAllTenants().getBody());
+    }
+}
@@ -0,0 +1,69 @@
+package com.khartoum.saas.service;
+
+import com.khartoum.saas.BenchmarkContext;
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantTier;
+import io.kubernetes.client.openapi.ApiClient;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call manifest object graph building in KubernetesService, and its JSON encoding
+ * as done by the client before each API request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KubernetesManifestBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private KubernetesService kubernetesService;
+    private ApiClient apiClient;
+    private Tenant tenant;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start();
+        kubernetesService = context.getBean(KubernetesService.class);
+        apiClient = context.getBean(ApiClient.class);
+
+        tenant = new Tenant();
+        tenant.setSubdomain("bench");
+        tenant.setDomain("42khartoum.com");
+        tenant.setDatabaseName("bench.42khartoum.com");
+        tenant.setUrl("https://bench.42khartoum.com");
+        tenant.setTier(TenantTier.PREMIUM);
+        tenant.setBackendService(kubernetesService.resolveBackendService(tenant));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object buildIngress() {
+        return kubernetesService.buildIngress(tenant);
+    }
+
+    @Benchmark
+    public Object buildInitDbJob() {
+        return kubernetesService.buildInitDbJob(tenant, "odoo-init-db-bench");
+    }
+
+    @Benchmark
+    public Object buildTenantDeployment() {
+        return kubernetesService.buildTenantDeployment(tenant, "odoo-tenant-bench", Map.of("app", "odoo-tenant-bench"));
+    }
+
+    @Benchmark
+    public String buildAndSerializeIngress() {
+        return apiClient.getJSON().serialize(kubernetesService.buildIngress(tenant));
+    }
+}
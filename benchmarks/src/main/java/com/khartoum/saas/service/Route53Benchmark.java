@@ -0,0 +1,51 @@
+package com.khartoum.saas.service;
+
+import com.khartoum.saas.BenchmarkContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FQDN normalization and Route53 change request building.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Route53Benchmark {
+
+    private ConfigurableApplicationContext context;
+    private Route53Service route53Service;
+
+    private String bareName = "alice.42khartoum.com";
+    private String dottedName = "alice.42khartoum.com.";
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start();
+        route53Service = context.getBean(Route53Service.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String normalizeBareFqdn() {
+        return Route53Service.normalizeFqdn(bareName);
+    }
+
+    @Benchmark
+    public String normalizeDottedFqdn() {
+        return Route53Service.normalizeFqdn(dottedName);
+    }
+
+    @Benchmark
+    public Object buildUpsertRequest() {
+        return route53Service.buildUpsertRequest(bareName, "lb-123.elb.amazonaws.com");
+    }
+}
@@ -0,0 +1,55 @@
+package com.khartoum.saas.service;
+
+import com.khartoum.saas.BenchmarkContext;
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.repository.TenantRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provisioning status transitions (find + save per step) against embedded H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TenantServiceBenchmark {
+
+    private static final TenantStatus[] STEPS = {
+        TenantStatus.DNS_CREATING, TenantStatus.K8S_CREATING, TenantStatus.CERT_PENDING,
+        TenantStatus.DB_INITIALIZING, TenantStatus.ACTIVE
+    };
+
+    private ConfigurableApplicationContext context;
+    private TenantService tenantService;
+    private Long tenantId;
+    private int step;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start();
+        tenantService = context.getBean(TenantService.class);
+
+        Tenant tenant = new Tenant();
+        tenant.setSubdomain("bench");
+        tenant.setDomain("42khartoum.com");
+        tenant.setDatabaseName("bench.42khartoum.com");
+        tenant.setUrl("https://bench.42khartoum.com");
+        tenantId = context.getBean(TenantRepository.class).save(tenant).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void updateStatus() {
+        tenantService.updateStatus(tenantId, STEPS[step++ % STEPS.length]);
+    }
+}
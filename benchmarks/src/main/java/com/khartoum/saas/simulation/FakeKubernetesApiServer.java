@@ -0,0 +1,131 @@
+package com.khartoum.saas.simulation;
+
+import com.google.gson.JsonParser;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Kubernetes API server stand-in on a MockWebServer. Jobs succeed after a fixed duration and
+ * the TLS secret of a tenant appears a fixed delay after its certificate manifest is created.
+ * Every other create/delete is accepted as-is.
+ */
+public class FakeKubernetesApiServer implements AutoCloseable {
+
+    private static final Pattern RESOURCE_PATH =
+        Pattern.compile("^/apis?/(?:[^/]+/)*namespaces/[^/]+/([a-z]+)(?:/([^/]+))?(?:/(status))?$");
+    private static final Pattern CERT_MANIFEST = Pattern.compile("^odoo-cert-(.+)-manifest$");
+
+    private final long jobDurationMs;
+    private final long certificateDelayMs;
+
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, Long> jobsCreatedAt = new ConcurrentHashMap<>();
+    private final Map<String, Long> secretsReadyAt = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+
+    public FakeKubernetesApiServer(long jobDurationMs, long certificateDelayMs) {
+        this.jobDurationMs = jobDurationMs;
+        this.certificateDelayMs = certificateDelayMs;
+    }
+
+    public void start() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return handle(request);
+            }
+        });
+        server.start();
+    }
+
+    public String getBasePath() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    public Map<String, AtomicLong> getCalls() {
+        return calls;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private MockResponse handle(RecordedRequest request) {
+        String path = request.getRequestUrl().encodedPath();
+        Matcher m = RESOURCE_PATH.matcher(path);
+        if (!m.matches()) {
+            return notFound();
+        }
+
+        String resource = m.group(1);
+        String name = m.group(2);
+        String method = request.getMethod();
+        calls.computeIfAbsent(method + " " + resource + (m.group(3) != null ? "/status" : ""), k -> new AtomicLong())
+            .incrementAndGet();
+
+        long now = System.currentTimeMillis();
+        switch (method) {
+            case "POST" -> {
+                String body = request.getBody().readUtf8();
+                String created = JsonParser.parseString(body).getAsJsonObject()
+                    .getAsJsonObject("metadata").get("name").getAsString();
+                if (resource.equals("jobs")) {
+                    jobsCreatedAt.put(created, now);
+                } else if (resource.equals("configmaps")) {
+                    Matcher cert = CERT_MANIFEST.matcher(created);
+                    if (cert.matches()) {
+                        secretsReadyAt.put("odoo-tls-" + cert.group(1), now + certificateDelayMs);
+                    }
+                }
+                return json(201, body);
+            }
+            case "GET" -> {
+                if (resource.equals("jobs") && name != null) {
+                    Long createdAt = jobsCreatedAt.get(name);
+                    if (createdAt == null) {
+                        return notFound();
+                    }
+                    String status = now - createdAt >= jobDurationMs ? "\"succeeded\":1" : "\"active\":1";
+                    return json(200, "{\"apiVersion\":\"batch/v1\",\"kind\":\"Job\",\"metadata\":{\"name\":\""
+                        + name + "\"},\"status\":{" + status + "}}");
+                }
+                if (resource.equals("secrets") && name != null) {
+                    Long readyAt = secretsReadyAt.get(name);
+                    if (readyAt == null || readyAt > now) {
+                        return notFound();
+                    }
+                    return json(200, "{\"apiVersion\":\"v1\",\"kind\":\"Secret\",\"metadata\":{\"name\":\"" + name + "\"}}");
+                }
+                return notFound();
+            }
+            case "DELETE" -> {
+                return json(200, "{\"apiVersion\":\"v1\",\"kind\":\"Status\",\"status\":\"Success\"}");
+            }
+            default -> {
+                return notFound();
+            }
+        }
+    }
+
+    private static MockResponse notFound() {
+        return json(404, "{\"apiVersion\":\"v1\",\"kind\":\"Status\",\"status\":\"Failure\",\"reason\":\"NotFound\",\"code\":404}");
+    }
+
+    private static MockResponse json(int code, String body) {
+        return new MockResponse()
+            .setResponseCode(code)
+            .setHeader("Content-Type", "application/json")
+            .setBody(body);
+    }
+}
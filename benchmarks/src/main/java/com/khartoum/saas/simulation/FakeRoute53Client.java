@@ -0,0 +1,150 @@
+package com.khartoum.saas.simulation;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.route53.Route53AsyncClient;
+import software.amazon.awssdk.services.route53.model.*;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Route53 stand-in: changes go INSYNC after a fixed propagation delay and
+ * requests beyond the account-wide rate limit fail with a Throttling error, as on AWS.
+ * Calls complete immediately; like the real async client, errors surface through the future.
+ */
+public class FakeRoute53Client implements Route53AsyncClient {
+
+    private final long propagationDelayMs;
+    private final int maxRequestsPerSecond;
+
+    private final Map<String, ResourceRecordSet> records = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> changeSubmittedAt = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong changeIds = new AtomicLong();
+    private final Deque<Long> window = new ArrayDeque<>();
+
+    public FakeRoute53Client(long propagationDelayMs, int maxRequestsPerSecond) {
+        this.propagationDelayMs = propagationDelayMs;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    @Override
+    public CompletableFuture<ChangeResourceRecordSetsResponse> changeResourceRecordSets(ChangeResourceRecordSetsRequest request) {
+        Route53Exception throttle = admit("ChangeResourceRecordSets");
+        if (throttle != null) {
+            return CompletableFuture.failedFuture(throttle);
+        }
+
+        for (Change change : request.changeBatch().changes()) {
+            ResourceRecordSet rrs = change.resourceRecordSet();
+            if (change.action() == ChangeAction.DELETE) {
+                records.remove(rrs.name());
+            } else {
+                records.put(rrs.name(), rrs);
+            }
+        }
+
+        String id = "/change/C" + changeIds.incrementAndGet();
+        long now = System.currentTimeMillis();
+        changeSubmittedAt.put(id, now);
+        return CompletableFuture.completedFuture(ChangeResourceRecordSetsResponse.builder()
+            .changeInfo(changeInfo(id, ChangeStatus.PENDING, now))
+            .build());
+    }
+
+    @Override
+    public CompletableFuture<GetChangeResponse> getChange(GetChangeRequest request) {
+        Route53Exception throttle = admit("GetChange");
+        if (throttle != null) {
+            return CompletableFuture.failedFuture(throttle);
+        }
+
+        Long submittedAt = changeSubmittedAt.get(request.id());
+        if (submittedAt == null) {
+            return CompletableFuture.failedFuture(
+                NoSuchChangeException.builder().message("No such change: " + request.id()).build());
+        }
+        ChangeStatus status = System.currentTimeMillis() - submittedAt >= propagationDelayMs
+            ? ChangeStatus.INSYNC : ChangeStatus.PENDING;
+        return CompletableFuture.completedFuture(GetChangeResponse.builder()
+            .changeInfo(changeInfo(request.id(), status, submittedAt))
+            .build());
+    }
+
+    @Override
+    public CompletableFuture<ListResourceRecordSetsResponse> listResourceRecordSets(ListResourceRecordSetsRequest request) {
+        Route53Exception throttle = admit("ListResourceRecordSets");
+        if (throttle != null) {
+            return CompletableFuture.failedFuture(throttle);
+        }
+
+        int maxItems = request.maxItems() != null ? Integer.parseInt(request.maxItems()) : 100;
+        return CompletableFuture.completedFuture(ListResourceRecordSetsResponse.builder()
+            .resourceRecordSets(new TreeMap<>(records).tailMap(request.startRecordName()).values().stream()
+                .limit(maxItems)
+                .toList())
+            .isTruncated(false)
+            .maxItems(String.valueOf(maxItems))
+            .build());
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public Map<String, AtomicLong> getCalls() {
+        return calls;
+    }
+
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    /**
+     * Counts the call and returns the Throttling error to fail it with, or null if it is within the limit.
+     */
+    private Route53Exception admit(String operation) {
+        calls.computeIfAbsent(operation, k -> new AtomicLong()).incrementAndGet();
+
+        long now = System.currentTimeMillis();
+        synchronized (window) {
+            while (!window.isEmpty() && now - window.peekFirst() >= 1000) {
+                window.pollFirst();
+            }
+            if (window.size() >= maxRequestsPerSecond) {
+                throttled.incrementAndGet();
+                return (Route53Exception) Route53Exception.builder()
+                    .statusCode(400)
+                    .awsErrorDetails(AwsErrorDetails.builder()
+                        .errorCode("Throttling")
+                        .errorMessage("Rate exceeded")
+                        .serviceName(SERVICE_NAME)
+                        .build())
+                    .build();
+            }
+            window.addLast(now);
+        }
+        return null;
+    }
+
+    private static ChangeInfo changeInfo(String id, ChangeStatus status, long submittedAt) {
+        return ChangeInfo.builder()
+            .id(id)
+            .status(status)
+            .submittedAt(Instant.ofEpochMilli(submittedAt))
+            .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.khartoum.saas.simulation;
+
+import com.khartoum.saas.BenchmarkContext;
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.model.TenantTier;
+import com.khartoum.saas.repository.TenantRepository;
+import com.khartoum.saas.service.TenantService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives N concurrent createTenant calls through the real manager against fake Route53 and
+ * Kubernetes backends and reports throughput, time-to-ACTIVE, threads, heap and API calls.
+ *
+ * <pre>
+ * mvn -f benchmarks/pom.xml compile exec:java \
+ *   -Dexec.mainClass=com.khartoum.saas.simulation.ProvisioningLoadSimulator \
+ *   -Dexec.args="tenants=500 callers=50 route53-rps=5"
+ * </pre>
+ */
+public class ProvisioningLoadSimulator {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+        "tenants", "200",
+        "callers", "50",
+        "route53-delay-ms", "2000",
+        "route53-rps", "5",
+        "job-ms", "3000",
+        "cert-ms", "2000",
+        "base-url-ms", "20",
+        "poll-ms", "250",
+        "timeout-s", "600");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2 || !DEFAULTS.containsKey(kv[0])) {
+                throw new IllegalArgumentException("Unknown option: " + arg + " (known: " + DEFAULTS.keySet() + ")");
+            }
+            opts.put(kv[0], kv[1]);
+        }
+        int tenants = Integer.parseInt(opts.get("tenants"));
+        int callers = Integer.parseInt(opts.get("callers"));
+
+        SimulatorBeans.route53 = new FakeRoute53Client(
+            Long.parseLong(opts.get("route53-delay-ms")), Integer.parseInt(opts.get("route53-rps")));
+        SimulatorBeans.kubernetes = new FakeKubernetesApiServer(
+            Long.parseLong(opts.get("job-ms")), Long.parseLong(opts.get("cert-ms")));
+        SimulatorBeans.baseUrlDelayMs = Long.parseLong(opts.get("base-url-ms"));
+        SimulatorBeans.kubernetes.start();
+
+        String pollMs = opts.get("poll-ms");
+        ConfigurableApplicationContext context = BenchmarkContext.start(new Class<?>[] {SimulatorBeans.class},
+            "kubernetes.poll-interval-ms=" + pollMs,
+            "aws.route53.poll-interval-ms=" + pollMs,
+            "aws.route53.ingress-lb-dns=lb.simulated.elb.amazonaws.com");
+
+        TenantService tenantService = context.getBean(TenantService.class);
+        TenantRepository tenantRepository = context.getBean(TenantRepository.class);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        threads.resetPeakThreadCount();
+        long peakHeap = 0;
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        AtomicLong rejected = new AtomicLong();
+        for (int i = 0; i < tenants; i++) {
+            String subdomain = "sim-" + i;
+            pool.submit(() -> {
+                try {
+                    tenantService.createTenant(subdomain, TenantTier.SHARED);
+                } catch (Exception e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+
+        long deadline = System.currentTimeMillis() + Long.parseLong(opts.get("timeout-s")) * 1000;
+        List<Tenant> all;
+        while (true) {
+            all = tenantRepository.findAll();
+            peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+            long done = all.stream()
+                .filter(t -> t.getStatus() == TenantStatus.ACTIVE || t.getStatus() == TenantStatus.FAILED)
+                .count();
+            if (done + rejected.get() >= tenants || System.currentTimeMillis() > deadline) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> timeToActive = new ArrayList<>();
+        int failed = 0;
+        for (Tenant t : all) {
+            if (t.getStatus() == TenantStatus.ACTIVE && t.getActivatedAt() != null) {
+                timeToActive.add(Duration.between(t.getCreatedAt(), t.getActivatedAt()).toMillis());
+            } else if (t.getStatus() == TenantStatus.FAILED) {
+                failed++;
+            }
+        }
+        timeToActive.sort(Long::compare);
+
+        System.out.println();
+        System.out.println("=== Provisioning load simulation ===");
+        System.out.printf("options              %s%n", new TreeMap<>(opts));
+        System.out.printf("tenants              requested=%d active=%d failed=%d rejected=%d unfinished=%d%n",
+            tenants, timeToActive.size(), failed, rejected.get(),
+            tenants - timeToActive.size() - failed - rejected.get());
+        System.out.printf("wall time            %.1f s%n", wallSeconds);
+        System.out.printf("throughput           %.2f tenants/s to ACTIVE%n", timeToActive.size() / wallSeconds);
+        System.out.printf("time-to-ACTIVE       p50=%d ms p99=%d ms max=%d ms%n",
+            percentile(timeToActive, 50), percentile(timeToActive, 99), percentile(timeToActive, 100));
+        System.out.printf("threads              peak=%d live=%d%n", threads.getPeakThreadCount(), threads.getThreadCount());
+        System.out.printf("heap                 peak-sampled=%d MiB%n", peakHeap / (1024 * 1024));
+        System.out.printf("route53 calls        %s throttled=%d%n",
+            counts(SimulatorBeans.route53.getCalls()), SimulatorBeans.route53.getThrottled());
+        System.out.printf("kubernetes calls     %s%n", counts(SimulatorBeans.kubernetes.getCalls()));
+        System.out.printf("base URL writes      %d%n",
+            context.getBean(SimulatedKubernetesService.class).getBaseUrlWrites());
+
+        context.close();
+        SimulatorBeans.kubernetes.close();
+        System.exit(0);
+    }
+
+    private static long percentile(List<Long> sorted, int p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private static Map<String, Long> counts(Map<String, AtomicLong> calls) {
+        Map<String, Long> result = new TreeMap<>();
+        calls.forEach((k, v) -> result.put(k, v.get()));
+        return result;
+    }
+}
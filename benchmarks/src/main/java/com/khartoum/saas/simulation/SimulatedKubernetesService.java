@@ -0,0 +1,41 @@
+package com.khartoum.saas.simulation;
+
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.resilience.Resilience;
+import com.khartoum.saas.service.KubernetesService;
+import com.khartoum.saas.service.SharedPoolRouter;
+import com.khartoum.saas.service.TenantOpsWorkerClient;
+import io.kubernetes.client.openapi.ApiClient;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * KubernetesService whose direct JDBC write of the base URL is simulated, since it goes
+ * straight to the tenant's Postgres database rather than through the API server.
+ */
+public class SimulatedKubernetesService extends KubernetesService {
+
+    private final long baseUrlDelayMs;
+    private final AtomicLong baseUrlWrites = new AtomicLong();
+
+    public SimulatedKubernetesService(ApiClient apiClient, SharedPoolRouter sharedPoolRouter,
+                                      TenantOpsWorkerClient tenantOpsWorker, Resilience resilience,
+                                      long baseUrlDelayMs) {
+        super(apiClient, sharedPoolRouter, tenantOpsWorker, resilience);
+        this.baseUrlDelayMs = baseUrlDelayMs;
+    }
+
+    @Override
+    public void setBaseUrl(Tenant tenant) {
+        baseUrlWrites.incrementAndGet();
+        try {
+            Thread.sleep(baseUrlDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getBaseUrlWrites() {
+        return baseUrlWrites.get();
+    }
+}
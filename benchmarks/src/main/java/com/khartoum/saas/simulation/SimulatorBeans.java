@@ -0,0 +1,42 @@
+package com.khartoum.saas.simulation;
+
+import com.khartoum.saas.resilience.Resilience;
+import com.khartoum.saas.service.SharedPoolRouter;
+import com.khartoum.saas.service.TenantOpsWorkerClient;
+import io.kubernetes.client.openapi.ApiClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import software.amazon.awssdk.services.route53.Route53AsyncClient;
+
+/**
+ * Bean source that swaps the simulated backends in. Deliberately not annotated with
+ * {@code @Configuration} so component scanning doesn't pick it up in the JMH contexts;
+ * it is only registered explicitly by {@link ProvisioningLoadSimulator}.
+ */
+public class SimulatorBeans {
+
+    static FakeRoute53Client route53;
+    static FakeKubernetesApiServer kubernetes;
+    static long baseUrlDelayMs;
+
+    @Bean
+    @Primary
+    public Route53AsyncClient simulatedRoute53Client() {
+        return route53;
+    }
+
+    @Bean
+    @Primary
+    public ApiClient simulatedApiClient() {
+        return new ApiClient().setBasePath(kubernetes.getBasePath());
+    }
+
+    @Bean
+    @Primary
+    public SimulatedKubernetesService simulatedKubernetesService(SharedPoolRouter sharedPoolRouter,
+                                                                 TenantOpsWorkerClient tenantOpsWorker,
+                                                                 Resilience resilience) {
+        return new SimulatedKubernetesService(simulatedApiClient(), sharedPoolRouter, tenantOpsWorker,
+            resilience, baseUrlDelayMs);
+    }
+}
@@ -1,11 +1,14 @@
 package com.khartoum.saas;
 
 import org.springframework.boot.SpringApplication;
+import com.khartoum.saas.config.NativeHints;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 public class SaasManagerApplication {
     public static void main(String[] args) {
         SpringApplication.run(SaasManagerApplication.class, args);
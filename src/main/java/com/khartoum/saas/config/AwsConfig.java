@@ -1,18 +1,41 @@
 package com.khartoum.saas.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.route53.Route53Client;
+import software.amazon.awssdk.services.route53.Route53AsyncClient;
+
+import java.time.Duration;
 
 @Configuration
 public class AwsConfig {
+    /**
+     * Built on first use; credential and region resolution would otherwise run at startup.
+     * Non-blocking Netty client: in-flight DNS calls share a few event-loop threads, and requests
+     * beyond max-concurrency queue for a connection instead of failing.
+     */
     @Bean
-    public Route53Client route53Client() {
-        return Route53Client.builder()
+    @Lazy
+    public Route53AsyncClient route53Client(@Value("${aws.route53.http.max-concurrency}") int maxConcurrency,
+                                            @Value("${aws.route53.http.max-pending-acquires}") int maxPendingAcquires,
+                                            @Value("${aws.route53.http.event-loop-threads}") int eventLoopThreads) {
+        return Route53AsyncClient.builder()
             .region(Region.AWS_GLOBAL)
             .credentialsProvider(DefaultCredentialsProvider.create())
+            // Resilience retries Route53 calls; SDK retries on top would multiply attempts and hide throttling
+            .overrideConfiguration(o -> o.retryPolicy(RetryPolicy.none()))
+            .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(maxConcurrency)
+                .maxPendingConnectionAcquires(maxPendingAcquires)
+                .connectionAcquisitionTimeout(Duration.ofSeconds(60))
+                .connectionMaxIdleTime(Duration.ofSeconds(60))
+                .eventLoopGroupBuilder(SdkEventLoopGroup.builder().numberOfThreads(eventLoopThreads)))
             .build();
     }
 }
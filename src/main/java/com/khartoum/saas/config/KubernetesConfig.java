@@ -5,11 +5,16 @@ import io.kubernetes.client.util.Config;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Slf4j
 @Configuration
 public class KubernetesConfig {
+    /**
+     * Built on first use; loading the kubeconfig or service account and TLS setup would otherwise run at startup.
+     */
     @Bean
+    @Lazy
     public ApiClient kubernetesApiClient() throws Exception {
         ApiClient client = Config.defaultClient();
         client.setConnectTimeout(10_000);
@@ -0,0 +1,49 @@
+package com.khartoum.saas.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+
+/**
+ * Reflection and resource hints for the native image (mvn -Pnative native:compile).
+ * client-java (de)serializes its models and their Gson type adapters reflectively, and the
+ * AWS SDK loads endpoint and default configuration metadata from classpath resources.
+ * Runs at build time, so scanning the classpath here costs nothing at startup.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] KUBERNETES_PACKAGES = {
+        "io/kubernetes/client/openapi/models",
+        "io/kubernetes/client/custom"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        for (String pkg : KUBERNETES_PACKAGES) {
+            try {
+                for (Resource resource : resolver.getResources("classpath*:" + pkg + "/*.class")) {
+                    String fileName = resource.getFilename();
+                    if (fileName == null) {
+                        continue;
+                    }
+                    String className = pkg.replace('/', '.') + "." + fileName.substring(0, fileName.length() - ".class".length());
+                    hints.reflection().registerType(TypeReference.of(className), MemberCategory.values());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to scan " + pkg + " for native hints", e);
+            }
+        }
+
+        // sdk-core and the HTTP clients ship their own native-image metadata; these don't
+        hints.resources()
+            .registerPattern("software/amazon/awssdk/global/handlers/execution.interceptors")
+            .registerPattern("software/amazon/awssdk/regions/internal/region/endpoints.json")
+            .registerPattern("software/amazon/awssdk/awscore/internal/defaults/sdk-default-configuration.json");
+    }
+}
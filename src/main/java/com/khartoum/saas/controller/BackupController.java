@@ -0,0 +1,64 @@
+package com.khartoum.saas.controller;
+
+import com.khartoum.saas.dto.BackupResponse;
+import com.khartoum.saas.dto.BulkBackupRequest;
+import com.khartoum.saas.dto.RestoreRequest;
+import com.khartoum.saas.model.TenantBackup;
+import com.khartoum.saas.service.BackupService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class BackupController {
+    private final BackupService backupService;
+
+    @PostMapping("/tenants/{id}/backups")
+    public ResponseEntity<BackupResponse> createBackup(@PathVariable Long id,
+                                                       @RequestParam(defaultValue = "false") boolean full) {
+        log.info("Backing up tenant: {}", id);
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(backupService.createBackup(id, full)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/tenants/{id}/backups")
+    public ResponseEntity<List<BackupResponse>> getBackups(@PathVariable Long id) {
+        return ResponseEntity.ok(backupService.getBackups(id).stream()
+            .map(this::toResponse).collect(Collectors.toList()));
+    }
+
+    @PostMapping("/backups")
+    public ResponseEntity<List<BackupResponse>> createBackups(@RequestBody BulkBackupRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+            backupService.createBackups(request.getTenantIds(), request.isFull()).stream()
+                .map(this::toResponse).collect(Collectors.toList()));
+    }
+
+    @PostMapping("/backups/{backupId}/restore")
+    public ResponseEntity<Void> restoreBackup(@PathVariable Long backupId,
+                                              @Valid @RequestBody RestoreRequest request) {
+        log.info("Restoring backup {} into tenant {}", backupId, request.getTargetTenantId());
+        try {
+            backupService.restoreBackup(backupId, request.getTargetTenantId());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private BackupResponse toResponse(TenantBackup b) {
+        return new BackupResponse(b.getId(), b.getTenantId(), b.getStatus(), b.isFullBackup(),
+            b.getCreatedAt(), b.getCompletedAt(), b.getErrorMessage());
+    }
+}
@@ -2,8 +2,13 @@ package com.khartoum.saas.controller;
 
 import com.khartoum.saas.dto.CreateTenantRequest;
 import com.khartoum.saas.dto.TenantResponse;
+import com.khartoum.saas.dto.TenantUsageResponse;
 import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantTier;
+import com.khartoum.saas.model.TenantUsageSample;
+import com.khartoum.saas.service.IdempotencyService;
 import com.khartoum.saas.service.TenantService;
+import com.khartoum.saas.service.UsageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,12 +24,37 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TenantController {
     private final TenantService tenantService;
+    private final UsageService usageService;
+    private final IdempotencyService idempotencyService;
     
+    /**
+     * With an Idempotency-Key header, retries of the same request return the tenant created
+     * by the first one; reusing the key for a different request is rejected with 422, and a blank
+     * or over-long key with 400.
+     */
     @PostMapping
-    public ResponseEntity<TenantResponse> createTenant(@Valid @RequestBody CreateTenantRequest request) {
+    public ResponseEntity<TenantResponse> createTenant(@Valid @RequestBody CreateTenantRequest request,
+                                                       @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("Creating tenant: {}", request.getSubdomain());
-        Tenant tenant = tenantService.createTenant(request.getSubdomain());
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(tenant));
+        if (idempotencyKey == null) {
+            Tenant tenant = tenantService.createTenant(request.getSubdomain(), request.getTier());
+            return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(tenant));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyService.MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        TenantTier tier = request.getTier() != null ? request.getTier() : TenantTier.SHARED;
+        Long tenantId;
+        try {
+            tenantId = idempotencyService.execute(idempotencyKey, request.getSubdomain() + "|" + tier,
+                () -> tenantService.createTenant(request.getSubdomain(), tier).getId());
+        } catch (IdempotencyService.KeyReusedException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        }
+        return tenantService.getTenantById(tenantId)
+            .map(t -> ResponseEntity.status(HttpStatus.CREATED).body(toResponse(t)))
+            .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping
@@ -40,6 +70,24 @@ public class TenantController {
             .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/{id}/usage")
+    public ResponseEntity<List<TenantUsageResponse>> getTenantUsage(@PathVariable Long id,
+                                                                    @RequestParam(defaultValue = "7") int days) {
+        if (tenantService.getTenantById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(usageService.getUsage(id, days).stream()
+            .map(this::toUsageResponse).collect(Collectors.toList()));
+    }
+    
+    @GetMapping("/usage/top")
+    public ResponseEntity<List<TenantUsageResponse>> getTopUsage(
+            @RequestParam(defaultValue = "TOTAL") UsageService.UsageMetric metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(usageService.getTopUsage(metric, limit).stream()
+            .map(this::toUsageResponse).collect(Collectors.toList()));
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTenant(@PathVariable Long id) {
         tenantService.deleteTenant(id);
@@ -48,6 +96,11 @@ public class TenantController {
     
     private TenantResponse toResponse(Tenant t) {
         return new TenantResponse(t.getId(), t.getSubdomain(), 
-            t.getUrl(), t.getStatus(), t.getCreatedAt());
+            t.getUrl(), t.getStatus(), t.getTier(), t.getCreatedAt());
+    }
+    
+    private TenantUsageResponse toUsageResponse(TenantUsageSample s) {
+        return new TenantUsageResponse(s.getTenantId(), s.getSampledAt(), s.getResolution(),
+            s.getDatabaseBytes(), s.getFilestoreBytes());
     }
 }
@@ -0,0 +1,64 @@
+package com.khartoum.saas.controller;
+
+import com.khartoum.saas.dto.FleetUpgradeRequest;
+import com.khartoum.saas.dto.FleetUpgradeResponse;
+import com.khartoum.saas.model.FleetUpgrade;
+import com.khartoum.saas.service.UpgradeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/upgrades")
+@RequiredArgsConstructor
+public class UpgradeController {
+    private final UpgradeService upgradeService;
+    
+    @PostMapping
+    public ResponseEntity<FleetUpgradeResponse> startUpgrade(@Valid @RequestBody FleetUpgradeRequest request) {
+        log.info("Starting fleet upgrade: concurrency={}, canary={}%", request.getConcurrency(), request.getCanaryPercent());
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(upgradeService.startUpgrade(request)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<FleetUpgradeResponse>> getAllUpgrades() {
+        return ResponseEntity.ok(upgradeService.getAllUpgrades().stream()
+            .map(this::toResponse).collect(Collectors.toList()));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<FleetUpgradeResponse> getUpgrade(@PathVariable Long id) {
+        return upgradeService.getUpgrade(id)
+            .map(u -> ResponseEntity.ok(toResponse(u)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping("/{id}/halt")
+    public ResponseEntity<Void> haltUpgrade(@PathVariable Long id) {
+        if (upgradeService.getUpgrade(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            upgradeService.haltUpgrade(id);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+    
+    private FleetUpgradeResponse toResponse(FleetUpgrade u) {
+        return new FleetUpgradeResponse(u.getId(), u.getImage(), u.getStatus(), u.getTotalTenants(),
+            u.getSucceeded(), u.getFailed(), u.getFailedTenants(),
+            u.getCreatedAt(), u.getFinishedAt(), u.getErrorMessage());
+    }
+}
@@ -0,0 +1,25 @@
+package com.khartoum.saas.dto;
+
+import com.khartoum.saas.model.BackupStatus;
+import java.time.LocalDateTime;
+
+public class BackupResponse {
+    public Long id;
+    public Long tenantId;
+    public BackupStatus status;
+    public boolean fullBackup;
+    public LocalDateTime createdAt;
+    public LocalDateTime completedAt;
+    public String errorMessage;
+    
+    public BackupResponse(Long id, Long tenantId, BackupStatus status, boolean fullBackup,
+                          LocalDateTime createdAt, LocalDateTime completedAt, String errorMessage) {
+        this.id = id;
+        this.tenantId = tenantId;
+        this.status = status;
+        this.fullBackup = fullBackup;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+        this.errorMessage = errorMessage;
+    }
+}
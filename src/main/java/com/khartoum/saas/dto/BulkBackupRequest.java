@@ -0,0 +1,16 @@
+package com.khartoum.saas.dto;
+
+import java.util.List;
+
+public class BulkBackupRequest {
+    /** Tenants to back up; all ACTIVE tenants when empty. */
+    public List<Long> tenantIds;
+    
+    public boolean full;
+    
+    public List<Long> getTenantIds() { return tenantIds; }
+    public void setTenantIds(List<Long> tenantIds) { this.tenantIds = tenantIds; }
+    
+    public boolean isFull() { return full; }
+    public void setFull(boolean full) { this.full = full; }
+}
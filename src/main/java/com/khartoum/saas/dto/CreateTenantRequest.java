@@ -1,5 +1,6 @@
 package com.khartoum.saas.dto;
 
+import com.khartoum.saas.model.TenantTier;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
@@ -9,6 +10,11 @@ public class CreateTenantRequest {
              message = "Invalid subdomain format")
     public String subdomain;
     
+    public TenantTier tier = TenantTier.SHARED;
+    
     public String getSubdomain() { return subdomain; }
     public void setSubdomain(String subdomain) { this.subdomain = subdomain; }
+    
+    public TenantTier getTier() { return tier; }
+    public void setTier(TenantTier tier) { this.tier = tier; }
 }
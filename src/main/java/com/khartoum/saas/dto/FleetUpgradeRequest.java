@@ -0,0 +1,33 @@
+package com.khartoum.saas.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public class FleetUpgradeRequest {
+    /** Odoo image to run the upgrade with; defaults to odoo.image. */
+    public String image;
+    
+    @Min(value = 1, message = "Concurrency must be at least 1")
+    @Max(value = 200, message = "Concurrency must be at most 200")
+    public int concurrency = 10;
+    
+    @Min(value = 0, message = "Canary percentage must be between 0 and 100")
+    @Max(value = 100, message = "Canary percentage must be between 0 and 100")
+    public int canaryPercent = 5;
+    
+    @Min(value = 0, message = "Failure threshold must be between 0 and 100")
+    @Max(value = 100, message = "Failure threshold must be between 0 and 100")
+    public int maxFailurePercent = 10;
+    
+    public String getImage() { return image; }
+    public void setImage(String image) { this.image = image; }
+    
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+    
+    public int getCanaryPercent() { return canaryPercent; }
+    public void setCanaryPercent(int canaryPercent) { this.canaryPercent = canaryPercent; }
+    
+    public int getMaxFailurePercent() { return maxFailurePercent; }
+    public void setMaxFailurePercent(int maxFailurePercent) { this.maxFailurePercent = maxFailurePercent; }
+}
@@ -0,0 +1,34 @@
+package com.khartoum.saas.dto;
+
+import com.khartoum.saas.model.UpgradeStatus;
+import java.time.LocalDateTime;
+
+public class FleetUpgradeResponse {
+    public Long id;
+    public String image;
+    public UpgradeStatus status;
+    public int totalTenants;
+    public int succeeded;
+    public int failed;
+    public int remaining;
+    public String failedTenants;
+    public LocalDateTime createdAt;
+    public LocalDateTime finishedAt;
+    public String errorMessage;
+    
+    public FleetUpgradeResponse(Long id, String image, UpgradeStatus status, int totalTenants,
+                                int succeeded, int failed, String failedTenants,
+                                LocalDateTime createdAt, LocalDateTime finishedAt, String errorMessage) {
+        this.id = id;
+        this.image = image;
+        this.status = status;
+        this.totalTenants = totalTenants;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.remaining = totalTenants - succeeded - failed;
+        this.failedTenants = failedTenants;
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,11 @@
+package com.khartoum.saas.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class RestoreRequest {
+    @NotNull(message = "Target tenant is required")
+    public Long targetTenantId;
+    
+    public Long getTargetTenantId() { return targetTenantId; }
+    public void setTargetTenantId(Long targetTenantId) { this.targetTenantId = targetTenantId; }
+}
@@ -1,6 +1,7 @@
 package com.khartoum.saas.dto;
 
 import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.model.TenantTier;
 import java.time.LocalDateTime;
 
 public class TenantResponse {
@@ -8,14 +9,16 @@ public class TenantResponse {
     public String subdomain;
     public String url;
     public TenantStatus status;
+    public TenantTier tier;
     public LocalDateTime createdAt;
     
     public TenantResponse(Long id, String subdomain, String url, 
-                          TenantStatus status, LocalDateTime createdAt) {
+                          TenantStatus status, TenantTier tier, LocalDateTime createdAt) {
         this.id = id;
         this.subdomain = subdomain;
         this.url = url;
         this.status = status;
+        this.tier = tier;
         this.createdAt = createdAt;
     }
 }
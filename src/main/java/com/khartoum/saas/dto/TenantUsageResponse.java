@@ -0,0 +1,21 @@
+package com.khartoum.saas.dto;
+
+import com.khartoum.saas.model.UsageResolution;
+import java.time.LocalDateTime;
+
+public class TenantUsageResponse {
+    public Long tenantId;
+    public LocalDateTime sampledAt;
+    public UsageResolution resolution;
+    public Long databaseBytes;
+    public Long filestoreBytes;
+    
+    public TenantUsageResponse(Long tenantId, LocalDateTime sampledAt, UsageResolution resolution,
+                               Long databaseBytes, Long filestoreBytes) {
+        this.tenantId = tenantId;
+        this.sampledAt = sampledAt;
+        this.resolution = resolution;
+        this.databaseBytes = databaseBytes;
+        this.filestoreBytes = filestoreBytes;
+    }
+}
@@ -0,0 +1,52 @@
+package com.khartoum.saas.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "fleet_upgrades")
+public class FleetUpgrade {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String image;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private UpgradeStatus status = UpgradeStatus.PENDING;
+    
+    @Column(nullable = false)
+    private int concurrency;
+    
+    @Column(name = "canary_percent", nullable = false)
+    private int canaryPercent;
+    
+    /** Failure rate (percent) above which the rollout halts. */
+    @Column(name = "max_failure_percent", nullable = false)
+    private int maxFailurePercent;
+    
+    @Column(name = "total_tenants", nullable = false)
+    private int totalTenants;
+    
+    @Column(nullable = false)
+    private int succeeded;
+    
+    @Column(nullable = false)
+    private int failed;
+    
+    @Column(name = "failed_tenants", columnDefinition = "TEXT")
+    private String failedTenants;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+}
@@ -28,6 +28,12 @@ public class Tenant {
     @Column(nullable = false)
     private TenantStatus status = TenantStatus.REQUESTED;
     
+    @Enumerated(EnumType.STRING)
+    private TenantTier tier = TenantTier.SHARED;
+    
+    @Column(name = "backend_service")
+    private String backendService;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
     
@@ -0,0 +1,45 @@
+package com.khartoum.saas.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "tenant_backups", indexes = {
+    @Index(name = "idx_backup_tenant_time", columnList = "tenant_id, created_at")
+})
+public class TenantBackup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "tenant_id", nullable = false)
+    private Long tenantId;
+    
+    @Column(name = "database_name", nullable = false)
+    private String databaseName;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BackupStatus status = BackupStatus.PENDING;
+    
+    /** Full backups start a new filestore chain; others are incremental against the previous one. */
+    @Column(name = "full_backup", nullable = false)
+    private boolean fullBackup;
+    
+    @Column(name = "dump_file")
+    private String dumpFile;
+    
+    @Column(name = "filestore_archive")
+    private String filestoreArchive;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+}
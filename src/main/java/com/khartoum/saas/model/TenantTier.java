@@ -0,0 +1,5 @@
+package com.khartoum.saas.model;
+
+public enum TenantTier {
+    SHARED, PREMIUM
+}
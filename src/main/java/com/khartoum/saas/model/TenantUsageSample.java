@@ -0,0 +1,33 @@
+package com.khartoum.saas.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "tenant_usage_samples", indexes = {
+    @Index(name = "idx_usage_tenant_time", columnList = "tenant_id, sampled_at"),
+    @Index(name = "idx_usage_resolution_time", columnList = "resolution, sampled_at")
+})
+public class TenantUsageSample {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "tenant_id", nullable = false)
+    private Long tenantId;
+    
+    @Column(name = "sampled_at", nullable = false)
+    private LocalDateTime sampledAt;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private UsageResolution resolution = UsageResolution.RAW;
+    
+    @Column(name = "database_bytes")
+    private Long databaseBytes;
+    
+    @Column(name = "filestore_bytes")
+    private Long filestoreBytes;
+}
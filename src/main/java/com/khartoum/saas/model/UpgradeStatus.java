@@ -0,0 +1,5 @@
+package com.khartoum.saas.model;
+
+public enum UpgradeStatus {
+    PENDING, CANARY, RUNNING, COMPLETED, HALTED, FAILED
+}
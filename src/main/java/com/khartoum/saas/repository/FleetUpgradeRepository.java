@@ -0,0 +1,15 @@
+package com.khartoum.saas.repository;
+
+import com.khartoum.saas.model.FleetUpgrade;
+import com.khartoum.saas.model.UpgradeStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FleetUpgradeRepository extends JpaRepository<FleetUpgrade, Long> {
+    List<FleetUpgrade> findAllByOrderByCreatedAtDesc();
+    List<FleetUpgrade> findByStatusIn(Collection<UpgradeStatus> statuses);
+    boolean existsByStatusIn(Collection<UpgradeStatus> statuses);
+}
@@ -0,0 +1,18 @@
+package com.khartoum.saas.repository;
+
+import com.khartoum.saas.model.BackupStatus;
+import com.khartoum.saas.model.TenantBackup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TenantBackupRepository extends JpaRepository<TenantBackup, Long> {
+    List<TenantBackup> findByTenantIdOrderByCreatedAtDesc(Long tenantId);
+    List<TenantBackup> findByTenantIdAndStatusAndIdLessThanEqualOrderByIdAsc(Long tenantId, BackupStatus status, Long id);
+    Optional<TenantBackup> findFirstByTenantIdOrderByIdDesc(Long tenantId);
+    boolean existsByTenantIdAndStatusIn(Long tenantId, Collection<BackupStatus> statuses);
+    List<TenantBackup> findByStatusIn(Collection<BackupStatus> statuses);
+}
@@ -3,13 +3,33 @@ package com.khartoum.saas.repository;
 import com.khartoum.saas.model.Tenant;
 import com.khartoum.saas.model.TenantStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TenantRepository extends JpaRepository<Tenant, Long> {
-    boolean existsBySubdomain(String subdomain);
     Optional<Tenant> findBySubdomain(String subdomain);
     List<Tenant> findByStatus(TenantStatus status);
+    
+    /**
+     * Inserts a tenant unless its subdomain (or database name) is already taken.
+     * Returns the number of rows inserted, so 0 means another request got there first.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tenants (subdomain, domain, database_name, url, status, tier, backend_service, created_at, updated_at) " +
+        "VALUES (:subdomain, :domain, :databaseName, :url, :status, :tier, :backendService, :createdAt, :createdAt) " +
+        "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("subdomain") String subdomain,
+                       @Param("domain") String domain,
+                       @Param("databaseName") String databaseName,
+                       @Param("url") String url,
+                       @Param("status") String status,
+                       @Param("tier") String tier,
+                       @Param("backendService") String backendService,
+                       @Param("createdAt") LocalDateTime createdAt);
 }
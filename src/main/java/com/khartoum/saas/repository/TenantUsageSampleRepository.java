@@ -0,0 +1,36 @@
+package com.khartoum.saas.repository;
+
+import com.khartoum.saas.model.TenantUsageSample;
+import com.khartoum.saas.model.UsageResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TenantUsageSampleRepository extends JpaRepository<TenantUsageSample, Long> {
+    List<TenantUsageSample> findByTenantIdAndSampledAtAfterOrderBySampledAtAsc(Long tenantId, LocalDateTime after);
+    List<TenantUsageSample> findByResolutionAndSampledAt(UsageResolution resolution, LocalDateTime sampledAt);
+    
+    @Query("select max(s.sampledAt) from TenantUsageSample s where s.resolution = :resolution")
+    Optional<LocalDateTime> findLatestSampledAt(@Param("resolution") UsageResolution resolution);
+    
+    /**
+     * Writes one DAILY sample per tenant and day (the day's peak sizes) for the RAW samples
+     * before the cutoff, entirely in the database. Returns the number of daily samples written.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO tenant_usage_samples (tenant_id, sampled_at, resolution, database_bytes, filestore_bytes) " +
+        "SELECT tenant_id, CAST(CAST(sampled_at AS DATE) AS TIMESTAMP), 'DAILY', MAX(database_bytes), MAX(filestore_bytes) " +
+        "FROM tenant_usage_samples WHERE resolution = 'RAW' AND sampled_at < :before " +
+        "GROUP BY tenant_id, CAST(sampled_at AS DATE)", nativeQuery = true)
+    int insertDailyPeaks(@Param("before") LocalDateTime before);
+    
+    @Modifying
+    @Query("delete from TenantUsageSample s where s.resolution = :resolution and s.sampledAt < :before")
+    int deleteOlderThan(@Param("resolution") UsageResolution resolution, @Param("before") LocalDateTime before);
+}
@@ -0,0 +1,105 @@
+package com.khartoum.saas.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opens after a run of consecutive transient failures. While open, callers wait for the
+ * cool-down instead of failing; afterwards a single trial call decides whether to close again.
+ */
+@Slf4j
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final long TRIAL_RECHECK_MILLIS = 1000;
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Blocks until a call is allowed.
+     *
+     * @throws CircuitOpenException if the breaker stays open longer than {@code maxWaitMillis}
+     */
+    public synchronized void awaitPermission(long maxWaitMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + maxWaitMillis;
+        while (true) {
+            long retryIn = tryAcquirePermission();
+            if (retryIn == 0) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (now >= deadline) {
+                throw new CircuitOpenException(name);
+            }
+            wait(Math.min(retryIn, deadline - now));
+        }
+    }
+
+    /**
+     * Non-blocking variant for async callers: returns 0 if the call may proceed,
+     * otherwise how many milliseconds to wait before asking again.
+     */
+    public synchronized long tryAcquirePermission() {
+        long now = System.currentTimeMillis();
+        if (state == State.OPEN && now - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            log.info("Circuit {} half-open, allowing a trial call", name);
+        }
+        if (state == State.CLOSED) {
+            return 0;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return 0;
+        }
+        // Half-open with a trial in flight: async callers can't be notified, so they re-check shortly
+        return Math.max(1, state == State.OPEN ? openedAt + openMillis - now : Math.min(openMillis, TRIAL_RECHECK_MILLIS));
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Circuit {} closed", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        notifyAll();
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("Circuit {} opened after {} consecutive failures", name, consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+        trialInFlight = false;
+        notifyAll();
+    }
+
+    /**
+     * Releases a half-open trial slot for a call whose outcome says nothing about dependency health.
+     */
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+        notifyAll();
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
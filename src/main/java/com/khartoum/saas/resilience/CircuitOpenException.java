@@ -0,0 +1,7 @@
+package com.khartoum.saas.resilience;
+
+public class CircuitOpenException extends RuntimeException {
+    public CircuitOpenException(String name) {
+        super("Circuit " + name + " is open");
+    }
+}
@@ -0,0 +1,8 @@
+package com.khartoum.saas.resilience;
+
+/**
+ * External systems the manager calls, each with its own rate limiter and circuit breaker.
+ */
+public enum Dependency {
+    KUBERNETES, ROUTE53
+}
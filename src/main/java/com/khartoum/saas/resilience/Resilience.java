@@ -0,0 +1,204 @@
+package com.khartoum.saas.resilience;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Wraps calls to Kubernetes and Route53 with a per-dependency token bucket, circuit breaker
+ * and retries with decorrelated jitter for transient errors (see {@link TransientErrors}).
+ * {@link #callAsync} applies the same policy without blocking, waiting on a shared timer thread.
+ */
+@Slf4j
+@Component
+public class Resilience {
+
+    private final Map<Dependency, TokenBucket> rateLimiters = new EnumMap<>(Dependency.class);
+    private final Map<Dependency, CircuitBreaker> breakers = new EnumMap<>(Dependency.class);
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final long maxPauseMs;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "resilience-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public Resilience(Environment env) {
+        this.maxAttempts = env.getRequiredProperty("resilience.max-attempts", Integer.class);
+        this.baseDelayMs = env.getRequiredProperty("resilience.base-delay-ms", Long.class);
+        this.maxDelayMs = env.getRequiredProperty("resilience.max-delay-ms", Long.class);
+        this.maxPauseMs = env.getRequiredProperty("resilience.max-pause-seconds", Long.class) * 1000;
+
+        for (Dependency dependency : Dependency.values()) {
+            String prefix = "resilience." + dependency.name().toLowerCase() + ".";
+            rateLimiters.put(dependency, new TokenBucket(
+                env.getRequiredProperty(prefix + "requests-per-second", Double.class),
+                env.getRequiredProperty(prefix + "burst", Integer.class)));
+            breakers.put(dependency, new CircuitBreaker(dependency.name(),
+                env.getRequiredProperty(prefix + "failure-threshold", Integer.class),
+                env.getRequiredProperty(prefix + "open-seconds", Long.class) * 1000));
+        }
+    }
+
+    public <T, E extends Exception> T call(Dependency dependency, ThrowingSupplier<T, E> action) throws E {
+        TokenBucket rateLimiter = rateLimiters.get(dependency);
+        CircuitBreaker breaker = breakers.get(dependency);
+        long delay = baseDelayMs;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // An open breaker pauses the caller (and so the provisioning step) rather than failing it
+                breaker.awaitPermission(maxPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for " + dependency, e);
+            }
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                breaker.onIgnored();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for " + dependency, e);
+            }
+
+            try {
+                T result = action.get();
+                breaker.onSuccess();
+                return result;
+            } catch (Exception e) {
+                if (!TransientErrors.isTransient(e)) {
+                    breaker.onIgnored();
+                    throw e;
+                }
+                recordTransientFailure(breaker, e);
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+
+                delay = nextDelay(delay);
+                log.warn("Transient {} error (attempt {}/{}), retrying in {} ms: {}",
+                    dependency, attempt, maxAttempts, delay, e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            } catch (Error e) {
+                // Says nothing about the dependency, but a half-open trial slot must not stay taken
+                breaker.onIgnored();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Async variant of {@link #call}: the action is started once the breaker and rate limiter allow it,
+     * and retried after a backoff on transient failures, all without holding a thread while waiting.
+     * The returned future fails with the action's own exception (not wrapped).
+     */
+    public <T> CompletableFuture<T> callAsync(Dependency dependency, Supplier<CompletableFuture<T>> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(dependency, action, result, 1, baseDelayMs, System.currentTimeMillis() + maxPauseMs);
+        return result;
+    }
+
+    private <T> void attemptAsync(Dependency dependency, Supplier<CompletableFuture<T>> action,
+                                  CompletableFuture<T> result, int attempt, long delay, long pauseDeadline) {
+        CircuitBreaker breaker = breakers.get(dependency);
+        long breakerWaitMs = breaker.tryAcquirePermission();
+        if (breakerWaitMs > 0) {
+            if (System.currentTimeMillis() + breakerWaitMs > pauseDeadline) {
+                result.completeExceptionally(new CircuitOpenException(dependency.name()));
+            } else {
+                timer.schedule(() -> attemptAsync(dependency, action, result, attempt, delay, pauseDeadline),
+                    breakerWaitMs, TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+
+        Runnable call = () -> {
+            CompletableFuture<T> future;
+            try {
+                future = action.get();
+            } catch (Throwable e) {
+                // Errors too: the failed future releases a half-open trial slot like any other outcome
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    breaker.onSuccess();
+                    result.complete(value);
+                    return;
+                }
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (!TransientErrors.isTransient(cause)) {
+                    breaker.onIgnored();
+                    result.completeExceptionally(cause);
+                    return;
+                }
+                recordTransientFailure(breaker, cause);
+                if (attempt >= maxAttempts) {
+                    result.completeExceptionally(cause);
+                    return;
+                }
+
+                long nextDelay = nextDelay(delay);
+                log.warn("Transient {} error (attempt {}/{}), retrying in {} ms: {}",
+                    dependency, attempt, maxAttempts, nextDelay, cause.getMessage());
+                timer.schedule(() -> attemptAsync(dependency, action, result, attempt + 1, nextDelay, pauseDeadline),
+                    nextDelay, TimeUnit.MILLISECONDS);
+            });
+        };
+
+        long rateWaitNanos = rateLimiters.get(dependency).reserve();
+        if (rateWaitNanos > 0) {
+            timer.schedule(call, rateWaitNanos, TimeUnit.NANOSECONDS);
+        } else {
+            call.run();
+        }
+    }
+
+    /**
+     * Throttling is retried like any transient error but doesn't count towards opening the breaker:
+     * the backoff already slows the caller, and an open breaker would stall every other call too.
+     */
+    private static void recordTransientFailure(CircuitBreaker breaker, Throwable error) {
+        if (TransientErrors.isThrottling(error)) {
+            breaker.onIgnored();
+        } else {
+            breaker.onFailure();
+        }
+    }
+
+    /**
+     * Decorrelated jitter: next delay is uniform in [base, previous * 3], capped.
+     */
+    private long nextDelay(long previous) {
+        return Math.min(maxDelayMs, ThreadLocalRandom.current().nextLong(baseDelayMs, Math.max(baseDelayMs + 1, previous * 3)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    public CircuitBreaker.State getState(Dependency dependency) {
+        return breakers.get(dependency).getState();
+    }
+}
@@ -0,0 +1,6 @@
+package com.khartoum.saas.resilience;
+
+@FunctionalInterface
+public interface ThrowingSupplier<T, E extends Exception> {
+    T get() throws E;
+}
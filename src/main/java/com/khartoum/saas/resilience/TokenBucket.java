@@ -0,0 +1,43 @@
+package com.khartoum.saas.resilience;
+
+/**
+ * Client-side token bucket. {@link #acquire()} blocks until a token is available,
+ * so callers are smoothed to the configured rate instead of being rejected;
+ * async callers use {@link #reserve()} and schedule the call after the returned delay.
+ */
+public class TokenBucket {
+    private final double permitsPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }
+    }
+
+    /**
+     * Takes a token without blocking and returns how many nanoseconds the caller must wait before using it.
+     */
+    public synchronized long reserve() {
+        refill();
+        // Reserve the token now (possibly going negative) so waiters are served in order
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / permitsPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,64 @@
+package com.khartoum.saas.resilience;
+
+import io.kubernetes.client.openapi.ApiException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.route53.model.Route53Exception;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Decides whether a failure is worth retrying: throttling, 5xx and I/O errors are,
+ * business errors (404, 409, invalid change batches) are not. Throttling is told apart
+ * because it says the caller is too fast, not that the dependency is unhealthy.
+ */
+public final class TransientErrors {
+    private static final Set<Integer> RETRYABLE_HTTP = Set.of(408, 429, 500, 502, 503, 504);
+    private static final Set<String> RETRYABLE_AWS_CODES = Set.of(
+        "Throttling", "ThrottlingException", "PriorRequestNotComplete", "RequestLimitExceeded",
+        "ServiceUnavailable", "InternalError");
+    private static final Set<String> THROTTLING_AWS_CODES = Set.of(
+        "Throttling", "ThrottlingException", "PriorRequestNotComplete", "RequestLimitExceeded");
+
+    private TransientErrors() {
+    }
+
+    public static boolean isTransient(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof ApiException e) {
+                // Code 0 means the request never got an HTTP response (connect/read failure)
+                return e.getCode() == 0 || RETRYABLE_HTTP.contains(e.getCode());
+            }
+            if (t instanceof Route53Exception e) {
+                return RETRYABLE_HTTP.contains(e.statusCode())
+                    || (e.awsErrorDetails() != null && RETRYABLE_AWS_CODES.contains(e.awsErrorDetails().errorCode()));
+            }
+            if (t instanceof SdkClientException || t instanceof IOException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the failure is a rate-limit rejection (HTTP 429 or an AWS throttling error code).
+     */
+    public static boolean isThrottling(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof ApiException e) {
+                return e.getCode() == 429;
+            }
+            if (t instanceof Route53Exception e) {
+                return e.statusCode() == 429
+                    || (e.awsErrorDetails() != null && THROTTLING_AWS_CODES.contains(e.awsErrorDetails().errorCode()));
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+}
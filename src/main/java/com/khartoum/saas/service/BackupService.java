@@ -0,0 +1,250 @@
+package com.khartoum.saas.service;
+
+import com.khartoum.saas.model.BackupStatus;
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantBackup;
+import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.repository.TenantBackupRepository;
+import com.khartoum.saas.repository.TenantRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Service
+public class BackupService {
+    private static final Set<BackupStatus> IN_PROGRESS = EnumSet.of(BackupStatus.PENDING, BackupStatus.RUNNING);
+    private static final Set<TenantStatus> RESTORABLE = EnumSet.of(TenantStatus.ACTIVE, TenantStatus.FAILED);
+    
+    private final TenantRepository tenantRepository;
+    private final TenantBackupRepository backupRepository;
+    private final KubernetesService kubernetesService;
+    private final ExecutorService executor;
+    private final ExecutorService restoreExecutor;
+
+    public BackupService(TenantRepository tenantRepository,
+                         TenantBackupRepository backupRepository,
+                         KubernetesService kubernetesService,
+                         @Value("${backup.parallelism}") int parallelism,
+                         @Value("${backup.restore-parallelism}") int restoreParallelism) {
+        this.tenantRepository = tenantRepository;
+        this.backupRepository = backupRepository;
+        this.kubernetesService = kubernetesService;
+        // Bounds concurrent pg_dump Jobs so a bulk run doesn't saturate the Postgres node
+        this.executor = Executors.newFixedThreadPool(parallelism);
+        // Restores keep a tenant offline, so they don't queue behind a bulk backup run
+        this.restoreExecutor = Executors.newFixedThreadPool(restoreParallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        restoreExecutor.shutdownNow();
+    }
+
+    /**
+     * Backups queued or running when the manager stopped will never be tracked to completion;
+     * stop their Jobs and fail them so they don't block new backups of the tenant.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failOrphanedBackups() {
+        for (TenantBackup backup : backupRepository.findByStatusIn(IN_PROGRESS)) {
+            log.warn("Marking backup {} FAILED: interrupted by manager restart", backup.getId());
+            stopJob(backup);
+            updateBackup(backup.getId(), BackupStatus.FAILED, "Interrupted by manager restart");
+        }
+    }
+
+    /**
+     * Queues a backup of the tenant. It is full when requested, for the first backup of the tenant,
+     * and after a backup that did not complete.
+     *
+     * @throws IllegalStateException if a backup of the tenant is already queued or running
+     */
+    public TenantBackup createBackup(Long tenantId, boolean full) {
+        TenantBackup backup = queueBackup(tenantId, full);
+        if (backup == null) {
+            throw new IllegalStateException("A backup of tenant " + tenantId + " is already in progress");
+        }
+        return backup;
+    }
+
+    /**
+     * Backups of one tenant must run one at a time: they share the GNU tar snapshot file, and the
+     * full/incremental decision and the restore chain (ordered by id) assume the previous one finished.
+     * Returns null when a backup of the tenant is already queued or running.
+     */
+    private synchronized TenantBackup queueBackup(Long tenantId, boolean full) {
+        Tenant tenant = tenantRepository.findById(tenantId)
+            .orElseThrow(() -> new IllegalArgumentException("Tenant not found"));
+
+        if (backupRepository.existsByTenantIdAndStatusIn(tenantId, IN_PROGRESS)) {
+            return null;
+        }
+
+        // A failed backup's Job may still have advanced the snapshot file, and archiveChain skips
+        // its archive, so an incremental after it would silently miss files on restore
+        boolean continuesChain = backupRepository.findFirstByTenantIdOrderByIdDesc(tenantId)
+            .map(latest -> latest.getStatus() == BackupStatus.COMPLETED)
+            .orElse(false);
+
+        TenantBackup backup = new TenantBackup();
+        backup.setTenantId(tenant.getId());
+        backup.setDatabaseName(tenant.getDatabaseName());
+        backup.setFullBackup(full || !continuesChain);
+        backup = backupRepository.save(backup);
+
+        backup.setDumpFile(backup.getId() + ".dump");
+        backup.setFilestoreArchive(backup.getId() + "-filestore.tar.gz");
+        backup = backupRepository.save(backup);
+
+        final TenantBackup queued = backup;
+        executor.submit(() -> runBackup(queued));
+        return backup;
+    }
+
+    /**
+     * Queues backups for the given tenants, or for every ACTIVE tenant when none are given.
+     * Tenants that already have a backup in progress are skipped.
+     */
+    public List<TenantBackup> createBackups(List<Long> tenantIds, boolean full) {
+        Set<Long> ids = tenantIds == null || tenantIds.isEmpty()
+            ? new LinkedHashSet<>(tenantRepository.findByStatus(TenantStatus.ACTIVE).stream().map(Tenant::getId).toList())
+            : new LinkedHashSet<>(tenantIds);
+
+        List<TenantBackup> backups = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TenantBackup backup = queueBackup(id, full);
+            if (backup != null) {
+                backups.add(backup);
+            } else {
+                log.info("Skipping tenant {}: backup already in progress", id);
+            }
+        }
+        log.info("Queued {} tenant backups", backups.size());
+        return backups;
+    }
+
+    /**
+     * Restores a completed backup into an existing tenant, replacing its database and filestore.
+     * The target tenant is DB_INITIALIZING while the restore runs.
+     *
+     * @throws IllegalStateException if the target is not ACTIVE or FAILED (e.g. still provisioning,
+     *                               being deleted or restored) or has a backup in progress
+     */
+    public synchronized void restoreBackup(Long backupId, Long targetTenantId) {
+        TenantBackup backup = backupRepository.findById(backupId)
+            .orElseThrow(() -> new IllegalArgumentException("Backup not found"));
+        if (backup.getStatus() != BackupStatus.COMPLETED) {
+            throw new IllegalArgumentException("Backup is not completed");
+        }
+        Tenant target = tenantRepository.findById(targetTenantId)
+            .orElseThrow(() -> new IllegalArgumentException("Target tenant not found"));
+        if (!RESTORABLE.contains(target.getStatus())) {
+            throw new IllegalStateException("Cannot restore into tenant in status " + target.getStatus());
+        }
+        if (backupRepository.existsByTenantIdAndStatusIn(targetTenantId, IN_PROGRESS)) {
+            throw new IllegalStateException("A backup of tenant " + targetTenantId + " is in progress");
+        }
+
+        List<String> archives = archiveChain(backup);
+        // Claim the target before returning, so a second restore request is rejected
+        updateTenant(target.getId(), TenantStatus.DB_INITIALIZING, null);
+        restoreExecutor.submit(() -> runRestore(backup, target, archives));
+    }
+
+    public List<TenantBackup> getBackups(Long tenantId) {
+        return backupRepository.findByTenantIdOrderByCreatedAtDesc(tenantId);
+    }
+
+    private void runBackup(TenantBackup backup) {
+        try {
+            updateBackup(backup.getId(), BackupStatus.RUNNING, null);
+            kubernetesService.backupTenant(backup);
+            updateBackup(backup.getId(), BackupStatus.COMPLETED, null);
+        } catch (InterruptedException e) {
+            // Shutting down: left RUNNING so failOrphanedBackups stops the Job on the next start
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Backup {} failed for database {}", backup.getId(), backup.getDatabaseName(), e);
+            stopJob(backup);
+            updateBackup(backup.getId(), BackupStatus.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the backup's Job before the backup is marked FAILED: a FAILED backup no longer blocks
+     * the next one, which must not share the snapshot file with a Job still running.
+     */
+    private void stopJob(TenantBackup backup) {
+        try {
+            kubernetesService.stopBackupJob(backup);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Failed to stop the Job of backup {}", backup.getId(), e);
+        }
+    }
+
+    private void runRestore(TenantBackup backup, Tenant target, List<String> archives) {
+        try {
+            kubernetesService.restoreTenant(target, backup, archives);
+            // The dump carries the source tenant's base URL
+            kubernetesService.setBaseUrl(target);
+            updateTenant(target.getId(), TenantStatus.ACTIVE, null);
+            log.info("Restored backup {} into tenant {}", backup.getId(), target.getSubdomain());
+        } catch (Exception e) {
+            log.error("Restore of backup {} into tenant {} failed", backup.getId(), target.getSubdomain(), e);
+            updateTenant(target.getId(), TenantStatus.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Filestore archives needed to rebuild the backup: the latest full backup at or before it,
+     * followed by every completed incremental up to and including it.
+     */
+    private List<String> archiveChain(TenantBackup backup) {
+        List<TenantBackup> history = backupRepository.findByTenantIdAndStatusAndIdLessThanEqualOrderByIdAsc(
+            backup.getTenantId(), BackupStatus.COMPLETED, backup.getId());
+
+        List<String> chain = new ArrayList<>();
+        for (TenantBackup b : history) {
+            if (b.isFullBackup()) {
+                chain.clear();
+            }
+            chain.add(b.getFilestoreArchive());
+        }
+        return chain;
+    }
+
+    private void updateBackup(Long id, BackupStatus status, String errorMessage) {
+        backupRepository.findById(id).ifPresent(b -> {
+            b.setStatus(status);
+            b.setErrorMessage(errorMessage);
+            if (status == BackupStatus.COMPLETED || status == BackupStatus.FAILED) {
+                b.setCompletedAt(LocalDateTime.now());
+            }
+            backupRepository.save(b);
+        });
+    }
+
+    private void updateTenant(Long id, TenantStatus status, String errorMessage) {
+        tenantRepository.findById(id).ifPresent(t -> {
+            t.setStatus(status);
+            t.setErrorMessage(errorMessage);
+            tenantRepository.save(t);
+        });
+    }
+}
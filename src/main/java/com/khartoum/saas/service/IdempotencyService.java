@@ -0,0 +1,99 @@
+package com.khartoum.saas.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the result of requests sent with an Idempotency-Key for a TTL, so client retries
+ * replay the original result. Concurrent requests with the same key share one in-flight result.
+ * Only the request fingerprint and the resulting id are kept per key.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public IdempotencyService(@Value("${idempotency.ttl-minutes}") long ttlMinutes) {
+        this.ttlMillis = ttlMinutes * 60_000;
+    }
+
+    /**
+     * Runs the action once per key and returns its result (an entity id) to every caller with that key.
+     * Failed actions are not remembered, so the client can retry them with the same key.
+     */
+    public Long execute(String key, String fingerprint, Supplier<Long> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+
+        CompletableFuture<Long> created = new CompletableFuture<>();
+        Entry entry = entries.computeIfAbsent(key,
+            k -> new Entry(fingerprint, created, System.currentTimeMillis() + ttlMillis));
+
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new KeyReusedException(key);
+        }
+
+        if (entry.result == created) {
+            try {
+                created.complete(action.get());
+            } catch (Throwable e) {
+                // Errors too, or concurrent callers would wait forever on a future nobody completes
+                entries.remove(key, entry);
+                created.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            log.debug("Replaying result for Idempotency-Key {}", key);
+        }
+
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.eviction-interval-ms}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(e -> e.expiresAt < now && e.result.isDone());
+        int evicted = before - entries.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} expired idempotency keys", evicted);
+        }
+    }
+
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException(String key) {
+            super("Idempotency-Key was already used for a different request: " + key);
+        }
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final CompletableFuture<Long> result;
+        final long expiresAt;
+
+        Entry(String fingerprint, CompletableFuture<Long> result, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,8 +1,16 @@
 package com.khartoum.saas.service;
 
 import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantBackup;
+import com.khartoum.saas.model.TenantTier;
+import com.khartoum.saas.resilience.Dependency;
+import com.khartoum.saas.resilience.Resilience;
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.custom.Quantity;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.AppsV1Api;
+import io.kubernetes.client.openapi.apis.AutoscalingV2Api;
 import io.kubernetes.client.openapi.apis.BatchV1Api;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
 import io.kubernetes.client.openapi.apis.NetworkingV1Api;
@@ -10,24 +18,46 @@ import io.kubernetes.client.openapi.models.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KubernetesService {
     
+    private static final int MAX_NAME_LENGTH = 63;
+    private static final String REQUEST_ID_ANNOTATION = "saas.khartoum.com/request-id";
+    
+    @Lazy
     private final ApiClient apiClient;
+    private final SharedPoolRouter sharedPoolRouter;
+    private final TenantOpsWorkerClient tenantOpsWorker;
+    private final Resilience resilience;
     
     @Value("${kubernetes.namespace}")
     private String namespace;
     
+    @Value("${kubernetes.poll-interval-ms}")
+    private long pollIntervalMs;
+    
     @Value("${odoo.image}")
     private String odooImage;
     
@@ -37,17 +67,284 @@ public class KubernetesService {
     @Value("${odoo.postgres-port}")
     private int postgresPort;
     
+    @Value("${odoo.postgres-user}")
+    private String postgresUser;
+    
+    @Value("${odoo.postgres-password:}")
+    private String postgresPassword;
+    
     @Value("${odoo.base-domain}")
     private String baseDomain;
     
+    @Value("${backup.image}")
+    private String backupImage;
+    
+    @Value("${backup.pvc}")
+    private String backupPvc;
+    
+    @Value("${backup.compression-level}")
+    private int backupCompressionLevel;
+    
+    @Value("${backup.timeout-seconds}")
+    private int backupTimeoutSeconds;
+    
+    @Value("${upgrade.timeout-seconds}")
+    private int upgradeTimeoutSeconds;
+    
+    @Value("${odoo.premium.cpu-request}")
+    private String premiumCpuRequest;
+    
+    @Value("${odoo.premium.cpu-limit}")
+    private String premiumCpuLimit;
+    
+    @Value("${odoo.premium.memory-request}")
+    private String premiumMemoryRequest;
+    
+    @Value("${odoo.premium.memory-limit}")
+    private String premiumMemoryLimit;
+    
+    @Value("${odoo.premium.autoscaling.min-replicas}")
+    private int premiumMinReplicas;
+    
+    @Value("${odoo.premium.autoscaling.max-replicas}")
+    private int premiumMaxReplicas;
+    
+    @Value("${odoo.premium.autoscaling.cpu-utilization}")
+    private int premiumCpuUtilization;
+    
+    @Value("${odoo.premium.autoscaling.requests-metric:}")
+    private String premiumRequestsMetric;
+    
+    @Value("${odoo.premium.autoscaling.requests-per-pod:}")
+    private String premiumRequestsPerPod;
+    
+    // ==================== WORKLOAD ====================
+    
+    /**
+     * Picks the Service the tenant's Ingress should route to:
+     * a dedicated one for premium tenants, a consistently hashed shared pool otherwise.
+     */
+    public String resolveBackendService(Tenant tenant) {
+        if (tenant.getTier() == TenantTier.PREMIUM) {
+            return workloadName(tenant);
+        }
+        return sharedPoolRouter.route(tenant.getSubdomain());
+    }
+    
+    private String workloadName(Tenant tenant) {
+        return boundedName("odoo-tenant-" + tenant.getSubdomain());
+    }
+    
+    /**
+     * Creates the dedicated Deployment, Service and HorizontalPodAutoscaler for a premium tenant.
+     * Shared-tier tenants run on the shared pools, so this is a no-op for them.
+     */
+    public void createTenantWorkload(Tenant tenant) throws ApiException {
+        if (tenant.getTier() != TenantTier.PREMIUM) {
+            return;
+        }
+        
+        String name = workloadName(tenant);
+        Map<String, String> labels = Map.of(
+            "app", name,
+            "saas.khartoum.com/tier", "premium"
+        );
+        V1Deployment deployment = buildTenantDeployment(tenant, name, labels);
+        
+        V1Service service = new V1Service()
+            .metadata(new V1ObjectMeta()
+                .name(name)
+                .namespace(namespace)
+                .labels(labels)
+            )
+            .spec(new V1ServiceSpec()
+                .selector(labels)
+                .ports(List.of(new V1ServicePort()
+                    .port(8069)
+                    .targetPort(new IntOrString(8069))
+                ))
+            );
+        
+        List<V2MetricSpec> metrics = new ArrayList<>();
+        metrics.add(new V2MetricSpec()
+            .type("Resource")
+            .resource(new V2ResourceMetricSource()
+                .name("cpu")
+                .target(new V2MetricTarget()
+                    .type("Utilization")
+                    .averageUtilization(premiumCpuUtilization)
+                )
+            ));
+        if (!premiumRequestsMetric.isBlank() && !premiumRequestsPerPod.isBlank()) {
+            // Request-rate scaling needs a custom metrics adapter (e.g. prometheus-adapter) in the cluster
+            metrics.add(new V2MetricSpec()
+                .type("Pods")
+                .pods(new V2PodsMetricSource()
+                    .metric(new V2MetricIdentifier().name(premiumRequestsMetric))
+                    .target(new V2MetricTarget()
+                        .type("AverageValue")
+                        .averageValue(Quantity.fromString(premiumRequestsPerPod))
+                    )
+                ));
+        }
+        
+        V2HorizontalPodAutoscaler hpa = new V2HorizontalPodAutoscaler()
+            .metadata(new V1ObjectMeta()
+                .name(name)
+                .namespace(namespace)
+                .labels(labels)
+            )
+            .spec(new V2HorizontalPodAutoscalerSpec()
+                .scaleTargetRef(new V2CrossVersionObjectReference()
+                    .apiVersion("apps/v1")
+                    .kind("Deployment")
+                    .name(name)
+                )
+                .minReplicas(premiumMinReplicas)
+                .maxReplicas(premiumMaxReplicas)
+                .metrics(metrics)
+            );
+        
+        try {
+            resilience.call(Dependency.KUBERNETES, () -> new AppsV1Api(apiClient).createNamespacedDeployment(namespace, deployment, null, null, null, null));
+            log.info("Created dedicated deployment for tenant: {}", tenant.getSubdomain());
+        } catch (ApiException e) {
+            if (e.getCode() != 409) throw e;
+        }
+        
+        try {
+            resilience.call(Dependency.KUBERNETES, () -> new CoreV1Api(apiClient).createNamespacedService(namespace, service, null, null, null, null));
+            log.info("Created dedicated service for tenant: {}", tenant.getSubdomain());
+        } catch (ApiException e) {
+            if (e.getCode() != 409) throw e;
+        }
+        
+        try {
+            resilience.call(Dependency.KUBERNETES, () -> new AutoscalingV2Api(apiClient).createNamespacedHorizontalPodAutoscaler(namespace, hpa, null, null, null, null));
+            log.info("Created autoscaler for tenant: {}", tenant.getSubdomain());
+        } catch (ApiException e) {
+            if (e.getCode() != 409) throw e;
+        }
+    }
+    
+    V1Deployment buildTenantDeployment(Tenant tenant, String name, Map<String, String> labels) {
+        String dbFilter = "^" + tenant.getDatabaseName().replace(".", "\\.") + "$";
+        
+        return new V1Deployment()
+            .metadata(new V1ObjectMeta()
+                .name(name)
+                .namespace(namespace)
+                .labels(labels)
+            )
+            .spec(new V1DeploymentSpec()
+                .selector(new V1LabelSelector().matchLabels(labels))
+                .template(new V1PodTemplateSpec()
+                    .metadata(new V1ObjectMeta().labels(labels))
+                    .spec(new V1PodSpec()
+                        .containers(List.of(new V1Container()
+                            .name("odoo")
+                            .image(odooImage)
+                            .command(List.of(
+                                "odoo",
+                                "--db_host=" + postgresHost,
+                                "--db_port=" + postgresPort,
+                                "--db-filter=" + dbFilter,
+                                "--proxy-mode"
+                            ))
+                            .ports(List.of(new V1ContainerPort().containerPort(8069)))
+                            .env(List.of(
+                                new V1EnvVar().name("POSTGRES_PASSWORD").valueFrom(
+                                    new V1EnvVarSource().secretKeyRef(
+                                        new V1SecretKeySelector()
+                                            .name("postgres-secret")
+                                            .key("password")
+                                    )
+                                )
+                            ))
+                            .resources(new V1ResourceRequirements()
+                                .requests(Map.of(
+                                    "cpu", Quantity.fromString(premiumCpuRequest),
+                                    "memory", Quantity.fromString(premiumMemoryRequest)
+                                ))
+                                .limits(Map.of(
+                                    "cpu", Quantity.fromString(premiumCpuLimit),
+                                    "memory", Quantity.fromString(premiumMemoryLimit)
+                                ))
+                            )
+                            .readinessProbe(new V1Probe()
+                                .httpGet(new V1HTTPGetAction()
+                                    .path("/web/health")
+                                    .port(new IntOrString(8069))
+                                )
+                                .initialDelaySeconds(10)
+                                .periodSeconds(10)
+                            )
+                            .volumeMounts(List.of(new V1VolumeMount()
+                                .name("odoo-data")
+                                .mountPath("/var/lib/odoo")
+                            ))
+                        ))
+                        .volumes(List.of(new V1Volume()
+                            .name("odoo-data")
+                            .persistentVolumeClaim(new V1PersistentVolumeClaimVolumeSource()
+                                .claimName("odoo-data")
+                            )
+                        ))
+                    )
+                )
+            );
+    }
+    
+    public void deleteTenantWorkload(Tenant tenant) throws ApiException {
+        if (tenant.getTier() != TenantTier.PREMIUM) {
+            return;
+        }
+        
+        String name = workloadName(tenant);
+        
+        try {
+            resilience.call(Dependency.KUBERNETES, () -> new AutoscalingV2Api(apiClient).deleteNamespacedHorizontalPodAutoscaler(name, namespace, null, null, null, null, null, null));
+        } catch (ApiException e) {
+            if (e.getCode() != 404) throw e;
+        }
+        
+        try {
+            resilience.call(Dependency.KUBERNETES, () -> new CoreV1Api(apiClient).deleteNamespacedService(name, namespace, null, null, null, null, null, null));
+        } catch (ApiException e) {
+            if (e.getCode() != 404) throw e;
+        }
+        
+        try {
+            resilience.call(Dependency.KUBERNETES, () -> new AppsV1Api(apiClient).deleteNamespacedDeployment(name, namespace, null, null, null, null, null, null));
+            log.info("Deleted dedicated workload for tenant: {}", tenant.getSubdomain());
+        } catch (ApiException e) {
+            if (e.getCode() != 404) throw e;
+        }
+    }
+    
     // ==================== INGRESS ====================
     
     public void createIngress(Tenant tenant) throws ApiException {
         NetworkingV1Api api = new NetworkingV1Api(apiClient);
+        V1Ingress ingress = buildIngress(tenant);
+        
+        try {
+            resilience.call(Dependency.KUBERNETES, () -> api.createNamespacedIngress(namespace, ingress, null, null, null, null));
+            log.info("Created ingress for tenant: {}", tenant.getSubdomain());
+        } catch (ApiException e) {
+            if (e.getCode() == 409) {
+                log.warn("Ingress already exists for tenant: {}", tenant.getSubdomain());
+            } else {
+                throw e;
+            }
+        }
+    }
+    
+    V1Ingress buildIngress(Tenant tenant) {
         String ingressName = "odoo-tenant-" + tenant.getSubdomain();
         String hostname = tenant.getSubdomain() + "." + baseDomain;
         
-        V1Ingress ingress = new V1Ingress()
+        return new V1Ingress()
             .metadata(new V1ObjectMeta()
                 .name(ingressName)
                 .namespace(namespace)
@@ -69,7 +366,7 @@ public class KubernetesService {
                             .pathType("Prefix")
                             .backend(new V1IngressBackend()
                                 .service(new V1IngressServiceBackend()
-                                    .name("odoo")
+                                    .name(tenant.getBackendService())
                                     .port(new V1ServiceBackendPort().number(8069))
                                 )
                             )
@@ -77,17 +374,6 @@ public class KubernetesService {
                     )
                 ))
             );
-        
-        try {
-            api.createNamespacedIngress(namespace, ingress, null, null, null, null);
-            log.info("Created ingress for tenant: {}", tenant.getSubdomain());
-        } catch (ApiException e) {
-            if (e.getCode() == 409) {
-                log.warn("Ingress already exists for tenant: {}", tenant.getSubdomain());
-            } else {
-                throw e;
-            }
-        }
     }
     
     public void deleteIngress(Tenant tenant) throws ApiException {
@@ -95,7 +381,7 @@ public class KubernetesService {
         String ingressName = "odoo-tenant-" + tenant.getSubdomain();
         
         try {
-            api.deleteNamespacedIngress(ingressName, namespace, null, null, null, null, null, null);
+            resilience.call(Dependency.KUBERNETES, () -> api.deleteNamespacedIngress(ingressName, namespace, null, null, null, null, null, null));
             log.info("Deleted ingress for tenant: {}", tenant.getSubdomain());
         } catch (ApiException e) {
             if (e.getCode() == 404) {
@@ -138,7 +424,7 @@ public class KubernetesService {
             .data(Map.of("certificate.yaml", certYaml));
         
         try {
-            api.createNamespacedConfigMap(namespace, configMap, null, null, null, null);
+            resilience.call(Dependency.KUBERNETES, () -> api.createNamespacedConfigMap(namespace, configMap, null, null, null, null));
             log.info("Created certificate manifest for tenant: {}", tenant.getSubdomain());
         } catch (ApiException e) {
             if (e.getCode() != 409) throw e;
@@ -150,7 +436,7 @@ public class KubernetesService {
         String certName = "odoo-cert-" + tenant.getSubdomain();
         
         try {
-            api.deleteNamespacedConfigMap(certName + "-manifest", namespace, null, null, null, null, null, null);
+            resilience.call(Dependency.KUBERNETES, () -> api.deleteNamespacedConfigMap(certName + "-manifest", namespace, null, null, null, null, null, null));
             log.info("Deleted certificate for tenant: {}", tenant.getSubdomain());
         } catch (ApiException e) {
             if (e.getCode() != 404) throw e;
@@ -160,12 +446,12 @@ public class KubernetesService {
     public void waitForCertificate(Tenant tenant, int timeoutSeconds) throws InterruptedException {
         log.info("Waiting for certificate to be ready for tenant: {}", tenant.getSubdomain());
         
-        int elapsed = 0;
-        while (elapsed < timeoutSeconds) {
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
+        while (System.currentTimeMillis() < deadline) {
             // Check if TLS secret exists
             try {
                 CoreV1Api api = new CoreV1Api(apiClient);
-                api.readNamespacedSecret("odoo-tls-" + tenant.getSubdomain(), namespace, null);
+                resilience.call(Dependency.KUBERNETES, () -> api.readNamespacedSecret("odoo-tls-" + tenant.getSubdomain(), namespace, null));
                 log.info("Certificate ready for tenant: {}", tenant.getSubdomain());
                 return;
             } catch (ApiException e) {
@@ -174,8 +460,7 @@ public class KubernetesService {
                 }
             }
             
-            Thread.sleep(5000);
-            elapsed += 5;
+            Thread.sleep(pollIntervalMs);
         }
         
         throw new RuntimeException("Certificate not ready after " + timeoutSeconds + " seconds");
@@ -184,10 +469,21 @@ public class KubernetesService {
     // ==================== DATABASE OPERATIONS ====================
     
     public void initializeDatabase(Tenant tenant) throws ApiException, InterruptedException {
-        BatchV1Api api = new BatchV1Api(apiClient);
-        String jobName = "odoo-init-db-" + tenant.getSubdomain();
+        if (tenantOpsWorker.isEnabled()) {
+            tenantOpsWorker.initializeDatabase(tenant.getDatabaseName());
+            return;
+        }
         
-        V1Job job = new V1Job()
+        String jobName = boundedName("odoo-init-db-" + tenant.getSubdomain());
+        
+        V1Job job = buildInitDbJob(tenant, jobName);
+        
+        log.info("Creating DB init job for tenant: {}", tenant.getSubdomain());
+        createJobAndWait(job, 600);
+    }
+    
+    V1Job buildInitDbJob(Tenant tenant, String jobName) {
+        return new V1Job()
             .metadata(new V1ObjectMeta()
                 .name(jobName)
                 .namespace(namespace)
@@ -222,39 +518,60 @@ public class KubernetesService {
                     )
                 )
             );
-        
-        try {
-            api.createNamespacedJob(namespace, job, null, null, null, null);
-            log.info("Created DB init job for tenant: {}", tenant.getSubdomain());
-            waitForJob(jobName, 600);
-        } catch (ApiException e) {
-            if (e.getCode() == 409) {
-                log.warn("Job already exists: {}", jobName);
-            } else {
+    }
+    
+    /**
+     * Opens a connection to the Odoo Postgres server as the Odoo database user.
+     * The manager needs that user's password (POSTGRES_PASSWORD, see k8s/deployment.yaml).
+     */
+    private Connection openOdooConnection(String database) throws SQLException {
+        if (postgresPassword == null || postgresPassword.isBlank()) {
+            throw new IllegalStateException("odoo.postgres-password is not set; provide POSTGRES_PASSWORD to the manager");
+        }
+        String jdbcUrl = String.format("jdbc:postgresql://%s:%d/%s", postgresHost, postgresPort, database);
+        return DriverManager.getConnection(jdbcUrl, postgresUser, postgresPassword);
+    }
+    
+    /**
+     * Writes web.base.url directly through JDBC instead of starting an Odoo pod for two rows,
+     * then bumps Odoo's cache signaling sequences so running workers drop their cached parameters.
+     */
+    public void setBaseUrl(Tenant tenant) throws SQLException {
+        try (Connection conn = openOdooConnection(tenant.getDatabaseName())) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement upsert = conn.prepareStatement("""
+                     INSERT INTO ir_config_parameter (key, value, create_date, write_date)
+                     VALUES (?, ?, now() at time zone 'UTC', now() at time zone 'UTC')
+                     ON CONFLICT (key) DO UPDATE SET value = EXCLUDED.value, write_date = EXCLUDED.write_date
+                     """);
+                 Statement stmt = conn.createStatement()) {
+                
+                upsert.setString(1, "web.base.url");
+                upsert.setString(2, tenant.getUrl());
+                upsert.addBatch();
+                upsert.setString(1, "web.base.url.freeze");
+                upsert.setString(2, "True");
+                upsert.addBatch();
+                upsert.executeBatch();
+                
+                stmt.execute("""
+                    SELECT nextval(c.oid::regclass) FROM pg_class c
+                    WHERE c.relkind = 'S' AND c.relname LIKE 'base\\_cache\\_signaling%'
+                    """);
+                conn.commit();
+                log.info("Set base URL for tenant: {}", tenant.getSubdomain());
+            } catch (SQLException e) {
+                conn.rollback();
                 throw e;
             }
         }
     }
     
-    public void setBaseUrl(Tenant tenant) throws ApiException, InterruptedException {
-        BatchV1Api api = new BatchV1Api(apiClient);
-        String jobName = "odoo-set-baseurl-" + tenant.getSubdomain();
-        
-        String pythonScript = String.format("""
-            import odoo
-            from odoo import api, SUPERUSER_ID
-            
-            odoo.tools.config['db_host'] = '%s'
-            odoo.tools.config['db_port'] = %d
-            
-            with odoo.api.Environment.manage():
-                with odoo.registry('%s').cursor() as cr:
-                    env = api.Environment(cr, SUPERUSER_ID, {})
-                    param = env['ir.config_parameter']
-                    param.set_param('web.base.url', '%s')
-                    param.set_param('web.base.url.freeze', True)
-                    cr.commit()
-            """, postgresHost, postgresPort, tenant.getDatabaseName(), tenant.getUrl());
+    /**
+     * Runs "odoo -u all" against the tenant database with the given image.
+     */
+    public void upgradeDatabase(Tenant tenant, String image, Long upgradeId) throws ApiException, InterruptedException {
+        String jobName = boundedName("odoo-upgrade-" + upgradeId + "-" + tenant.getSubdomain());
         
         V1Job job = new V1Job()
             .metadata(new V1ObjectMeta()
@@ -263,31 +580,52 @@ public class KubernetesService {
             )
             .spec(new V1JobSpec()
                 .ttlSecondsAfterFinished(3600)
+                .backoffLimit(0)
                 .template(new V1PodTemplateSpec()
                     .spec(new V1PodSpec()
                         .restartPolicy("Never")
                         .containers(List.of(new V1Container()
-                            .name("set-baseurl")
-                            .image(odooImage)
-                            .command(List.of("python3", "-c", pythonScript))
+                            .name("odoo-upgrade")
+                            .image(image)
+                            .command(List.of(
+                                "odoo",
+                                "-d", tenant.getDatabaseName(),
+                                "-u", "all",
+                                "--stop-after-init",
+                                "--db_host=" + postgresHost,
+                                "--db_port=" + postgresPort
+                            ))
+                            .env(List.of(
+                                new V1EnvVar().name("POSTGRES_PASSWORD").valueFrom(
+                                    new V1EnvVarSource().secretKeyRef(
+                                        new V1SecretKeySelector()
+                                            .name("postgres-secret")
+                                            .key("password")
+                                    )
+                                )
+                            ))
+                            .volumeMounts(List.of(new V1VolumeMount()
+                                .name("odoo-data")
+                                .mountPath("/var/lib/odoo")
+                            ))
+                        ))
+                        .volumes(List.of(new V1Volume()
+                            .name("odoo-data")
+                            .persistentVolumeClaim(new V1PersistentVolumeClaimVolumeSource()
+                                .claimName("odoo-data")
+                            )
                         ))
                     )
                 )
             );
         
-        try {
-            api.createNamespacedJob(namespace, job, null, null, null, null);
-            log.info("Created base URL job for tenant: {}", tenant.getSubdomain());
-            waitForJob(jobName, 300);
-        } catch (ApiException e) {
-            if (e.getCode() != 409) throw e;
-        }
+        log.info("Creating upgrade job for tenant: {}", tenant.getSubdomain());
+        createJobAndWait(job, upgradeTimeoutSeconds);
     }
     
     public void dropDatabase(Tenant tenant) {
         try {
-            String jdbcUrl = String.format("jdbc:postgresql://%s:%d/postgres", postgresHost, postgresPort);
-            try (Connection conn = DriverManager.getConnection(jdbcUrl, "odoo", System.getenv("POSTGRES_PASSWORD"));
+            try (Connection conn = openOdooConnection("postgres");
                  Statement stmt = conn.createStatement()) {
                 
                 stmt.execute("DROP DATABASE IF EXISTS \"" + tenant.getDatabaseName() + "\"");
@@ -299,8 +637,12 @@ public class KubernetesService {
     }
     
     public void cleanupFilestore(Tenant tenant) throws ApiException, InterruptedException {
-        BatchV1Api api = new BatchV1Api(apiClient);
-        String jobName = "cleanup-filestore-" + tenant.getSubdomain();
+        if (tenantOpsWorker.isEnabled()) {
+            tenantOpsWorker.cleanupFilestore(tenant.getDatabaseName());
+            return;
+        }
+        
+        String jobName = boundedName("cleanup-filestore-" + tenant.getSubdomain());
         
         V1Job job = new V1Job()
             .metadata(new V1ObjectMeta()
@@ -332,21 +674,342 @@ public class KubernetesService {
                 )
             );
         
+        log.info("Creating filestore cleanup job for tenant: {}", tenant.getSubdomain());
+        createJobAndWait(job, 60);
+    }
+    
+    // ==================== BACKUP / RESTORE ====================
+    
+    /**
+     * Streams a compressed custom-format pg_dump and a filestore tar to the backup PVC.
+     * The filestore tar is incremental (GNU tar snapshot file) unless the backup is full;
+     * the snapshot is only advanced once the archive has been written completely.
+     */
+    public void backupTenant(TenantBackup backup) throws ApiException, InterruptedException {
+        String jobName = backupJobName(backup);
+        
+        String script = """
+            set -eu
+            DIR="/backups/$DB"
+            mkdir -p "$DIR"
+            pg_dump -Fc -Z "$COMPRESSION" -f "$DIR/$DUMP.partial" "$DB"
+            mv "$DIR/$DUMP.partial" "$DIR/$DUMP"
+            if [ "$FULL" = "true" ]; then rm -f "$DIR/filestore.snar"; fi
+            if [ -d "/var/lib/odoo/filestore/$DB" ]; then
+              if [ -f "$DIR/filestore.snar" ]; then cp "$DIR/filestore.snar" "$DIR/filestore.snar.tmp"; else rm -f "$DIR/filestore.snar.tmp"; fi
+              tar --listed-incremental="$DIR/filestore.snar.tmp" -czf "$DIR/$ARCHIVE" -C /var/lib/odoo/filestore "$DB"
+              mv "$DIR/filestore.snar.tmp" "$DIR/filestore.snar"
+            else
+              tar -czf "$DIR/$ARCHIVE" -T /dev/null
+            fi
+            """;
+        
+        V1Job job = backupJob(jobName, "backup", script, List.of(
+            new V1EnvVar().name("DB").value(backup.getDatabaseName()),
+            new V1EnvVar().name("DUMP").value(backup.getDumpFile()),
+            new V1EnvVar().name("ARCHIVE").value(backup.getFilestoreArchive()),
+            new V1EnvVar().name("FULL").value(String.valueOf(backup.isFullBackup())),
+            new V1EnvVar().name("COMPRESSION").value(String.valueOf(backupCompressionLevel))
+        ));
+        
+        log.info("Creating backup job {} for database: {}", jobName, backup.getDatabaseName());
+        createJobAndWait(job, backupTimeoutSeconds);
+    }
+    
+    /**
+     * Stops the backup's Job if it is still running and waits until its pod is gone, so a backup
+     * given up on (timed out, or orphaned by a restart) can't go on writing the tenant's snapshot file.
+     * Finished Jobs are left for their TTL so their logs stay available.
+     */
+    public void stopBackupJob(TenantBackup backup) throws ApiException, InterruptedException {
+        String jobName = backupJobName(backup);
+        BatchV1Api api = new BatchV1Api(apiClient);
         try {
-            api.createNamespacedJob(namespace, job, null, null, null, null);
-            log.info("Created filestore cleanup job for tenant: {}", tenant.getSubdomain());
-            waitForJob(jobName, 60);
+            V1JobStatus status = resilience.call(Dependency.KUBERNETES, () ->
+                api.readNamespacedJobStatus(jobName, namespace, null)).getStatus();
+            if (status != null && (positive(status.getSucceeded()) || positive(status.getFailed()))) {
+                return;
+            }
+            // Foreground: the Job is only removed once its pod has terminated
+            resilience.call(Dependency.KUBERNETES, () ->
+                api.deleteNamespacedJob(jobName, namespace, null, null, null, null, "Foreground", null));
+        } catch (ApiException e) {
+            if (e.getCode() != 404) throw e;
+            return;
+        }
+        
+        log.info("Stopping backup job: {}", jobName);
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                resilience.call(Dependency.KUBERNETES, () -> api.readNamespacedJobStatus(jobName, namespace, null));
+            } catch (ApiException e) {
+                if (e.getCode() != 404) throw e;
+                return;
+            }
+            Thread.sleep(pollIntervalMs);
+        }
+        throw new RuntimeException("Job deletion timeout: " + jobName);
+    }
+    
+    private static String backupJobName(TenantBackup backup) {
+        return "odoo-backup-" + backup.getId();
+    }
+    
+    private static boolean positive(Integer count) {
+        return count != null && count > 0;
+    }
+    
+    /**
+     * Replaces the target tenant's database and filestore with the given backup.
+     *
+     * @param archives the filestore archive chain, oldest (full) first, ending with the backup's own archive
+     */
+    public void restoreTenant(Tenant target, TenantBackup backup, List<String> archives)
+            throws ApiException, InterruptedException {
+        // Unique per request: restoring the same backup into the same tenant again must run again
+        String jobName = boundedName("odoo-restore-" + backup.getId() + "-" + target.getSubdomain()
+            + "-" + System.currentTimeMillis() / 1000);
+        
+        String script = """
+            set -eu
+            SRC="/backups/$SRC_DB"
+            STAGING="/var/lib/odoo/filestore/.restore-$DB"
+            dropdb --if-exists --force "$DB"
+            createdb "$DB"
+            pg_restore --no-owner --exit-on-error -d "$DB" "$SRC/$DUMP"
+            rm -rf "$STAGING" && mkdir -p "$STAGING"
+            for a in $ARCHIVES; do
+              tar --listed-incremental=/dev/null -xzf "$SRC/$a" -C "$STAGING"
+            done
+            rm -rf "/var/lib/odoo/filestore/$DB"
+            if [ -d "$STAGING/$SRC_DB" ]; then mv "$STAGING/$SRC_DB" "/var/lib/odoo/filestore/$DB"; fi
+            rm -rf "$STAGING"
+            """;
+        
+        V1Job job = backupJob(jobName, "restore", script, List.of(
+            new V1EnvVar().name("SRC_DB").value(backup.getDatabaseName()),
+            new V1EnvVar().name("DB").value(target.getDatabaseName()),
+            new V1EnvVar().name("DUMP").value(backup.getDumpFile()),
+            new V1EnvVar().name("ARCHIVES").value(String.join(" ", archives))
+        ));
+        
+        log.info("Creating restore job {} for tenant: {}", jobName, target.getSubdomain());
+        createJobAndWait(job, backupTimeoutSeconds);
+    }
+    
+    private V1Job backupJob(String jobName, String containerName, String script, List<V1EnvVar> env) {
+        List<V1EnvVar> allEnv = new ArrayList<>(env);
+        allEnv.add(new V1EnvVar().name("PGHOST").value(postgresHost));
+        allEnv.add(new V1EnvVar().name("PGPORT").value(String.valueOf(postgresPort)));
+        allEnv.add(new V1EnvVar().name("PGUSER").value(postgresUser));
+        allEnv.add(new V1EnvVar().name("PGPASSWORD").valueFrom(
+            new V1EnvVarSource().secretKeyRef(
+                new V1SecretKeySelector()
+                    .name("postgres-secret")
+                    .key("password")
+            )
+        ));
+        
+        return new V1Job()
+            .metadata(new V1ObjectMeta()
+                .name(jobName)
+                .namespace(namespace)
+            )
+            .spec(new V1JobSpec()
+                .ttlSecondsAfterFinished(3600)
+                .backoffLimit(0)
+                .template(new V1PodTemplateSpec()
+                    .spec(new V1PodSpec()
+                        .restartPolicy("Never")
+                        .containers(List.of(new V1Container()
+                            .name(containerName)
+                            .image(backupImage)
+                            .command(List.of("sh", "-c", script))
+                            .env(allEnv)
+                            .volumeMounts(List.of(
+                                new V1VolumeMount()
+                                    .name("odoo-data")
+                                    .mountPath("/var/lib/odoo"),
+                                new V1VolumeMount()
+                                    .name("backups")
+                                    .mountPath("/backups")
+                            ))
+                        ))
+                        .volumes(List.of(
+                            new V1Volume()
+                                .name("odoo-data")
+                                .persistentVolumeClaim(new V1PersistentVolumeClaimVolumeSource()
+                                    .claimName("odoo-data")
+                                ),
+                            new V1Volume()
+                                .name("backups")
+                                .persistentVolumeClaim(new V1PersistentVolumeClaimVolumeSource()
+                                    .claimName(backupPvc)
+                                )
+                        ))
+                    )
+                )
+            );
+    }
+    
+    // ==================== USAGE ====================
+    
+    /**
+     * Returns pg_database_size for the given databases in a single round trip.
+     * Databases that do not exist are simply absent from the result.
+     */
+    public Map<String, Long> getDatabaseSizes(Collection<String> databaseNames) {
+        Map<String, Long> sizes = new HashMap<>();
+        if (databaseNames.isEmpty()) {
+            return sizes;
+        }
+        
+        try (Connection conn = openOdooConnection("postgres");
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT datname, pg_database_size(datname) FROM pg_database WHERE datname = ANY (?)")) {
+            
+            stmt.setArray(1, conn.createArrayOf("text", databaseNames.toArray()));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sizes.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to read database sizes", e);
+        }
+        return sizes;
+    }
+    
+    /**
+     * Measures every tenant filestore with one scan Job over the odoo-data PVC.
+     *
+     * @return filestore size in bytes keyed by database name
+     */
+    public Map<String, Long> scanFilestoreUsage() throws ApiException, InterruptedException {
+        String jobName = "usage-scan-filestore-" + System.currentTimeMillis() / 1000;
+        
+        V1Job job = new V1Job()
+            .metadata(new V1ObjectMeta()
+                .name(jobName)
+                .namespace(namespace)
+            )
+            .spec(new V1JobSpec()
+                .ttlSecondsAfterFinished(600)
+                // A retried pod would leave several pods for readJobLog to choose from
+                .backoffLimit(0)
+                .template(new V1PodTemplateSpec()
+                    .spec(new V1PodSpec()
+                        .restartPolicy("Never")
+                        .containers(List.of(new V1Container()
+                            .name("scan")
+                            .image("busybox")
+                            .command(List.of("sh", "-c",
+                                "cd /var/lib/odoo/filestore 2>/dev/null && du -sk -- * 2>/dev/null || true"))
+                            .volumeMounts(List.of(new V1VolumeMount()
+                                .name("odoo-data")
+                                .mountPath("/var/lib/odoo")
+                                .readOnly(true)
+                            ))
+                        ))
+                        .volumes(List.of(new V1Volume()
+                            .name("odoo-data")
+                            .persistentVolumeClaim(new V1PersistentVolumeClaimVolumeSource()
+                                .claimName("odoo-data")
+                            )
+                        ))
+                    )
+                )
+            );
+        
+        log.info("Creating filestore usage scan job: {}", jobName);
+        createJobAndWait(job, 600);
+        
+        Map<String, Long> usage = new HashMap<>();
+        for (String line : readJobLog(jobName).split("\n")) {
+            String[] parts = line.trim().split("\\s+", 2);
+            if (parts.length == 2) {
+                try {
+                    usage.put(parts[1], Long.parseLong(parts[0]) * 1024);
+                } catch (NumberFormatException e) {
+                    log.debug("Skipping unexpected du output: {}", line);
+                }
+            }
+        }
+        return usage;
+    }
+    
+    private String readJobLog(String jobName) throws ApiException {
+        CoreV1Api api = new CoreV1Api(apiClient);
+        V1PodList pods = resilience.call(Dependency.KUBERNETES, () -> api.listNamespacedPod(namespace, null, null, null, null,
+            "job-name=" + jobName, null, null, null, null, null, null));
+        
+        V1Pod pod = pods.getItems().stream()
+            .filter(p -> p.getStatus() != null && "Succeeded".equals(p.getStatus().getPhase()))
+            .findFirst()
+            .orElseThrow(() -> new RuntimeException("No succeeded pod found for job: " + jobName));
+        
+        String podName = pod.getMetadata().getName();
+        String logs = resilience.call(Dependency.KUBERNETES, () ->
+            api.readNamespacedPodLog(podName, namespace, null, null, null, null, null, null, null, null, null));
+        return logs != null ? logs : "";
+    }
+    
+    /**
+     * Keeps names that are also label values (Service names, Job names) within the 63 character limit.
+     * Subdomains can be 63 characters themselves, so long names are cut and given a hash suffix
+     * that keeps them unique; short names are left unchanged.
+     */
+    static String boundedName(String name) {
+        if (name.length() <= MAX_NAME_LENGTH) {
+            return name;
+        }
+        String hash;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(name.getBytes(StandardCharsets.UTF_8));
+            hash = HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        String head = name.substring(0, MAX_NAME_LENGTH - hash.length() - 1);
+        while (head.endsWith("-")) {
+            head = head.substring(0, head.length() - 1);
+        }
+        return head + "-" + hash;
+    }
+    
+    /**
+     * Creates the Job and waits for it to finish. A 409 on a Job stamped by this call means a retried
+     * create whose first attempt reached the API server, so we wait on that one. Any other Job with
+     * the name (e.g. a finished one kept for ttlSecondsAfterFinished) fails the call: adopting it
+     * would report work as done that this call never did.
+     */
+    private void createJobAndWait(V1Job job, int timeoutSeconds) throws ApiException, InterruptedException {
+        String jobName = job.getMetadata().getName();
+        String requestId = UUID.randomUUID().toString();
+        job.getMetadata().putAnnotationsItem(REQUEST_ID_ANNOTATION, requestId);
+        
+        BatchV1Api api = new BatchV1Api(apiClient);
+        try {
+            resilience.call(Dependency.KUBERNETES, () -> api.createNamespacedJob(namespace, job, null, null, null, null));
         } catch (ApiException e) {
             if (e.getCode() != 409) throw e;
+            V1Job existing = resilience.call(Dependency.KUBERNETES, () -> api.readNamespacedJob(jobName, namespace, null));
+            Map<String, String> annotations = existing.getMetadata() != null ? existing.getMetadata().getAnnotations() : null;
+            if (annotations == null || !requestId.equals(annotations.get(REQUEST_ID_ANNOTATION))) {
+                throw new RuntimeException("Job already exists from an earlier request: " + jobName);
+            }
+            log.warn("Job already created by a retried request, waiting on it: {}", jobName);
         }
+        waitForJob(jobName, timeoutSeconds);
     }
     
     private void waitForJob(String jobName, int timeoutSeconds) throws ApiException, InterruptedException {
         BatchV1Api api = new BatchV1Api(apiClient);
-        int elapsed = 0;
+        long deadline = System.currentTimeMillis() + timeoutSeconds * 1000L;
         
-        while (elapsed < timeoutSeconds) {
-            V1Job job = api.readNamespacedJobStatus(jobName, namespace, null);
+        while (System.currentTimeMillis() < deadline) {
+            V1Job job = resilience.call(Dependency.KUBERNETES, () -> api.readNamespacedJobStatus(jobName, namespace, null));
             V1JobStatus status = job.getStatus();
             
             if (status != null && status.getSucceeded() != null && status.getSucceeded() > 0) {
@@ -358,8 +1021,7 @@ public class KubernetesService {
                 throw new RuntimeException("Job failed: " + jobName);
             }
             
-            Thread.sleep(5000);
-            elapsed += 5;
+            Thread.sleep(pollIntervalMs);
         }
         
         throw new RuntimeException("Job timeout: " + jobName);
@@ -1,135 +1,176 @@
 package com.khartoum.saas.service;
 
+import com.khartoum.saas.resilience.Dependency;
+import com.khartoum.saas.resilience.Resilience;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.route53.Route53Client;
+import software.amazon.awssdk.services.route53.Route53AsyncClient;
 import software.amazon.awssdk.services.route53.model.*;
 
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class Route53Service {
 
-    private final Route53Client route53Client;
+    @Lazy
+    private final Route53AsyncClient route53Client;
+    private final Resilience resilience;
+
+    /** Shared timer for INSYNC polls, so waiting on a change doesn't hold a thread. */
+    private final ScheduledExecutorService changePoller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "route53-change-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Value("${aws.route53.hosted-zone-id}")
     private String hostedZoneId;
 
+    @Value("${aws.route53.ingress-lb-dns}")
+    private String ingressLbDns;
+
+    @Value("${aws.route53.poll-interval-ms}")
+    private long pollIntervalMs;
+
+    @Value("${aws.route53.change-timeout-seconds}")
+    private int changeTimeoutSeconds;
+
     /**
      * Creates/Updates a DNS CNAME record pointing to the LoadBalancer DNS name.
+     * Completes once the change is INSYNC (or the wait timed out).
      *
      * @param subdomain  e.g., "alice"
      * @param baseDomain e.g., "42khartoum.com"
      */
-    public void createDnsRecord(String subdomain, String baseDomain) {
+    public CompletableFuture<Void> createDnsRecord(String subdomain, String baseDomain) {
         String fqdn = normalizeFqdn(subdomain + "." + baseDomain);
         String lbDnsName = getLoadBalancerDnsName();
+        ChangeResourceRecordSetsRequest request = buildUpsertRequest(fqdn, lbDnsName);
+
+        return resilience.callAsync(Dependency.ROUTE53, () -> route53Client.changeResourceRecordSets(request))
+            .thenCompose(response -> {
+                log.info("Upserted DNS record for {} -> {} : changeId={}", fqdn, lbDnsName, response.changeInfo().id());
+                return waitForDnsChange(response.changeInfo().id());
+            })
+            .exceptionally(error -> {
+                Throwable e = unwrap(error);
+                if (e instanceof InvalidChangeBatchException) {
+                    // Common when record set is malformed or violates R53 constraints
+                    log.error("Invalid change batch while upserting DNS record for {} -> {}", fqdn, lbDnsName, e);
+                    throw new RuntimeException("Invalid Route53 change batch", e);
+                }
+                if (e instanceof Route53Exception) {
+                    log.error("Route53 error while upserting DNS record for {} -> {}", fqdn, lbDnsName, e);
+                    throw new RuntimeException("Route53 error while creating/updating DNS record", e);
+                }
+                log.error("Failed to upsert DNS record for {} -> {}", fqdn, lbDnsName, e);
+                throw new RuntimeException("Failed to create/update DNS record", e);
+            });
+    }
 
-        try {
-            ChangeResourceRecordSetsRequest request = ChangeResourceRecordSetsRequest.builder()
-                .hostedZoneId(hostedZoneId)
-                .changeBatch(ChangeBatch.builder()
-                    .changes(Change.builder()
-                        .action(ChangeAction.UPSERT) // ✅ idempotent
-                        .resourceRecordSet(ResourceRecordSet.builder()
-                            .name(fqdn)
-                            .type(RRType.CNAME)
-                            .ttl(300L)
-                            .resourceRecords(ResourceRecord.builder()
-                                .value(lbDnsName)
-                                .build())
+    /**
+     * Builds the UPSERT request for a CNAME record pointing at the given target.
+     */
+    ChangeResourceRecordSetsRequest buildUpsertRequest(String fqdn, String target) {
+        return ChangeResourceRecordSetsRequest.builder()
+            .hostedZoneId(hostedZoneId)
+            .changeBatch(ChangeBatch.builder()
+                .changes(Change.builder()
+                    .action(ChangeAction.UPSERT) // ✅ idempotent
+                    .resourceRecordSet(ResourceRecordSet.builder()
+                        .name(fqdn)
+                        .type(RRType.CNAME)
+                        .ttl(300L)
+                        .resourceRecords(ResourceRecord.builder()
+                            .value(target)
                             .build())
                         .build())
                     .build())
-                .build();
-
-            ChangeResourceRecordSetsResponse response = route53Client.changeResourceRecordSets(request);
-            log.info("Upserted DNS record for {} -> {} : changeId={}", fqdn, lbDnsName, response.changeInfo().id());
-
-            waitForDnsChange(response.changeInfo().id());
-
-        } catch (InvalidChangeBatchException e) {
-            // Common when record set is malformed or violates R53 constraints
-            log.error("Invalid change batch while upserting DNS record for {} -> {}", fqdn, lbDnsName, e);
-            throw new RuntimeException("Invalid Route53 change batch", e);
-        } catch (Route53Exception e) {
-            log.error("Route53 error while upserting DNS record for {} -> {}", fqdn, lbDnsName, e);
-            throw new RuntimeException("Route53 error while creating/updating DNS record", e);
-        } catch (Exception e) {
-            log.error("Failed to upsert DNS record for {} -> {}", fqdn, lbDnsName, e);
-            throw new RuntimeException("Failed to create/update DNS record", e);
-        }
+                .build())
+            .build();
     }
 
     /**
      * Deletes the DNS record for a tenant (if exists).
      * Important: We delete using the *exact current record set* from Route53 to avoid InvalidChangeBatch.
      */
-    public void deleteDnsRecord(String subdomain, String baseDomain) {
+    public CompletableFuture<Void> deleteDnsRecord(String subdomain, String baseDomain) {
         String fqdn = normalizeFqdn(subdomain + "." + baseDomain);
 
-        try {
-            Optional<ResourceRecordSet> existing = findCnameRecord(fqdn);
-
-            if (existing.isEmpty()) {
-                log.info("No DNS record found for {}, nothing to delete.", fqdn);
-                return;
-            }
+        return findCnameRecord(fqdn)
+            .thenCompose(existing -> {
+                if (existing.isEmpty()) {
+                    log.info("No DNS record found for {}, nothing to delete.", fqdn);
+                    return CompletableFuture.<Void>completedFuture(null);
+                }
 
-            ResourceRecordSet recordToDelete = existing.get();
+                ResourceRecordSet recordToDelete = existing.get();
 
-            ChangeResourceRecordSetsRequest request = ChangeResourceRecordSetsRequest.builder()
-                .hostedZoneId(hostedZoneId)
-                .changeBatch(ChangeBatch.builder()
-                    .changes(Change.builder()
-                        .action(ChangeAction.DELETE)
-                        .resourceRecordSet(recordToDelete)
+                ChangeResourceRecordSetsRequest request = ChangeResourceRecordSetsRequest.builder()
+                    .hostedZoneId(hostedZoneId)
+                    .changeBatch(ChangeBatch.builder()
+                        .changes(Change.builder()
+                            .action(ChangeAction.DELETE)
+                            .resourceRecordSet(recordToDelete)
+                            .build())
                         .build())
-                    .build())
-                .build();
-
-            ChangeResourceRecordSetsResponse response = route53Client.changeResourceRecordSets(request);
-            log.info("Deleted DNS record for {} : changeId={}", fqdn, response.changeInfo().id());
-
-            waitForDnsChange(response.changeInfo().id());
-
-        } catch (NoSuchHostedZoneException e) {
-            log.warn("Hosted zone not found: {}", hostedZoneId, e);
-        } catch (InvalidChangeBatchException e) {
-            // This can happen if record disappeared between list+delete (race)
-            log.warn("DNS record for {} could not be deleted (possibly already removed).", fqdn, e);
-        } catch (Route53Exception e) {
-            log.error("Route53 error while deleting DNS record for {}", fqdn, e);
-            throw new RuntimeException("Route53 error while deleting DNS record", e);
-        } catch (Exception e) {
-            log.error("Failed to delete DNS record for {}", fqdn, e);
-            throw new RuntimeException("Failed to delete DNS record", e);
-        }
+                    .build();
+
+                return resilience.callAsync(Dependency.ROUTE53, () -> route53Client.changeResourceRecordSets(request))
+                    .thenCompose(response -> {
+                        log.info("Deleted DNS record for {} : changeId={}", fqdn, response.changeInfo().id());
+                        return waitForDnsChange(response.changeInfo().id());
+                    });
+            })
+            .exceptionally(error -> {
+                Throwable e = unwrap(error);
+                if (e instanceof NoSuchHostedZoneException) {
+                    log.warn("Hosted zone not found: {}", hostedZoneId, e);
+                    return null;
+                }
+                if (e instanceof InvalidChangeBatchException) {
+                    // This can happen if record disappeared between list+delete (race)
+                    log.warn("DNS record for {} could not be deleted (possibly already removed).", fqdn, e);
+                    return null;
+                }
+                if (e instanceof Route53Exception) {
+                    log.error("Route53 error while deleting DNS record for {}", fqdn, e);
+                    throw new RuntimeException("Route53 error while deleting DNS record", e);
+                }
+                log.error("Failed to delete DNS record for {}", fqdn, e);
+                throw new RuntimeException("Failed to delete DNS record", e);
+            });
     }
 
     /**
      * Checks if a DNS CNAME record exists.
      */
-    public boolean recordExists(String subdomain, String baseDomain) {
+    public CompletableFuture<Boolean> recordExists(String subdomain, String baseDomain) {
         String fqdn = normalizeFqdn(subdomain + "." + baseDomain);
 
-        try {
-            return findCnameRecord(fqdn).isPresent();
-        } catch (Exception e) {
-            log.error("Failed to check DNS record existence for {}", fqdn, e);
-            return false;
-        }
+        return findCnameRecord(fqdn)
+            .thenApply(Optional::isPresent)
+            .exceptionally(e -> {
+                log.error("Failed to check DNS record existence for {}", fqdn, unwrap(e));
+                return false;
+            });
     }
 
     /**
      * Finds a CNAME record for the given fully qualified domain name.
      */
-    private Optional<ResourceRecordSet> findCnameRecord(String fqdn) {
+    private CompletableFuture<Optional<ResourceRecordSet>> findCnameRecord(String fqdn) {
         String normalized = normalizeFqdn(fqdn);
 
         ListResourceRecordSetsRequest request = ListResourceRecordSetsRequest.builder()
@@ -139,21 +180,19 @@ public class Route53Service {
             .maxItems("1")
             .build();
 
-        ListResourceRecordSetsResponse response = route53Client.listResourceRecordSets(request);
-
-        return response.resourceRecordSets().stream()
-            .filter(rrs -> normalizeFqdn(rrs.name()).equals(normalized) && rrs.type() == RRType.CNAME)
-            .findFirst();
+        return resilience.callAsync(Dependency.ROUTE53, () -> route53Client.listResourceRecordSets(request))
+            .thenApply(response -> response.resourceRecordSets().stream()
+                .filter(rrs -> normalizeFqdn(rrs.name()).equals(normalized) && rrs.type() == RRType.CNAME)
+                .findFirst());
     }
 
     /**
      * Gets the LoadBalancer DNS name.
-     * Option 1: From environment variable (recommended for now)
+     * Option 1: From aws.route53.ingress-lb-dns, defaulting to the INGRESS_LB_DNS environment variable
      */
     private String getLoadBalancerDnsName() {
-        String lbDns = System.getenv("INGRESS_LB_DNS");
-        if (lbDns != null && !lbDns.isBlank()) {
-            return lbDns.trim();
+        if (ingressLbDns != null && !ingressLbDns.isBlank()) {
+            return ingressLbDns.trim();
         }
         throw new IllegalStateException(
             "LoadBalancer DNS name not configured. " +
@@ -162,40 +201,53 @@ public class Route53Service {
     }
 
     /**
-     * Waits for a Route53 change to complete.
+     * Waits for a Route53 change to complete. Polls are scheduled on the shared poller,
+     * so no thread is held between them.
      */
-    private void waitForDnsChange(String changeId) {
-        try {
-            int maxAttempts = 30;
-            int attempts = 0;
-
-            while (attempts < maxAttempts) {
-                GetChangeResponse response = route53Client.getChange(GetChangeRequest.builder().id(changeId).build());
+    private CompletableFuture<Void> waitForDnsChange(String changeId) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        pollChange(changeId, System.currentTimeMillis() + changeTimeoutSeconds * 1000L, 1, done);
+        return done;
+    }
 
+    private void pollChange(String changeId, long deadline, int attempt, CompletableFuture<Void> done) {
+        GetChangeRequest request = GetChangeRequest.builder().id(changeId).build();
+        resilience.callAsync(Dependency.ROUTE53, () -> route53Client.getChange(request))
+            .whenComplete((response, error) -> {
+                if (error != null) {
+                    done.completeExceptionally(error);
+                    return;
+                }
                 if (response.changeInfo().status() == ChangeStatus.INSYNC) {
                     log.info("DNS change INSYNC: {}", changeId);
+                    done.complete(null);
+                    return;
+                }
+                if (System.currentTimeMillis() + pollIntervalMs >= deadline) {
+                    log.warn("DNS change {} did not complete within timeout", changeId);
+                    done.complete(null);
                     return;
                 }
 
-                log.debug("Waiting for DNS change {} (attempt {}/{})",
-                    changeId, attempts + 1, maxAttempts);
-
-                Thread.sleep(10_000);
-                attempts++;
-            }
+                log.debug("Waiting for DNS change {} (attempt {})", changeId, attempt);
+                changePoller.schedule(() -> pollChange(changeId, deadline, attempt + 1, done),
+                    pollIntervalMs, TimeUnit.MILLISECONDS);
+            });
+    }
 
-            log.warn("DNS change {} did not complete within timeout", changeId);
+    @PreDestroy
+    public void shutdown() {
+        changePoller.shutdownNow();
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted while waiting for DNS change", e);
-        }
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
     /**
      * Normalize FQDN for Route53 comparisons (ensure trailing dot).
      */
-    private String normalizeFqdn(String name) {
+    static String normalizeFqdn(String name) {
         String n = name == null ? "" : name.trim();
         if (n.isEmpty()) return n;
         return n.endsWith(".") ? n : n + ".";
@@ -0,0 +1,58 @@
+package com.khartoum.saas.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Places shared-tier tenants onto one of the shared Odoo pool Services.
+ * Uses a consistent hash ring so adding or removing a pool only moves ~1/n of the tenants.
+ */
+@Slf4j
+@Component
+public class SharedPoolRouter {
+
+    private static final int VIRTUAL_NODES_PER_POOL = 128;
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public SharedPoolRouter(@Value("${odoo.shared-pools:odoo}") List<String> pools) {
+        if (pools.isEmpty()) {
+            throw new IllegalStateException("At least one shared Odoo pool must be configured (odoo.shared-pools)");
+        }
+        for (String pool : pools) {
+            for (int i = 0; i < VIRTUAL_NODES_PER_POOL; i++) {
+                ring.put(hash(pool + "#" + i), pool);
+            }
+        }
+        log.info("Shared Odoo pools: {}", pools);
+    }
+
+    /**
+     * Returns the shared pool Service name that should serve the given subdomain.
+     */
+    public String route(String subdomain) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(subdomain));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xff);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.khartoum.saas.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Client for the long-lived tenant-ops worker (k8s/tenant-ops-worker.yaml), which runs
+ * tenant operations inside an already-imported Odoo interpreter instead of a fresh Job pod.
+ */
+@Slf4j
+@Component
+public class TenantOpsWorkerClient {
+
+    private final RestClient restClient;
+    private final boolean enabled;
+
+    public TenantOpsWorkerClient(@Value("${tenant-ops.mode}") String mode,
+                                 @Value("${tenant-ops.worker-url}") String workerUrl,
+                                 @Value("${tenant-ops.worker-token:}") String workerToken,
+                                 @Value("${tenant-ops.timeout-seconds}") int timeoutSeconds) {
+        this.enabled = "worker".equalsIgnoreCase(mode);
+        if (enabled && workerToken.isBlank()) {
+            // The worker refuses unauthenticated requests, so fail at startup rather than on the first tenant
+            throw new IllegalStateException("tenant-ops.worker-token (TENANT_OPS_TOKEN) is required in worker mode");
+        }
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(10_000);
+        requestFactory.setReadTimeout(timeoutSeconds * 1000);
+
+        this.restClient = RestClient.builder()
+            .baseUrl(workerUrl)
+            .requestFactory(requestFactory)
+            .defaultHeader("X-Worker-Token", workerToken)
+            .build();
+
+        if (enabled) {
+            log.info("Tenant operations routed to worker at {}", workerUrl);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates the database and installs base without demo data. Idempotent on the worker side.
+     */
+    public void initializeDatabase(String databaseName) {
+        restClient.post()
+            .uri("/databases/{db}/init", databaseName)
+            .retrieve()
+            .toBodilessEntity();
+        log.info("Worker initialized database: {}", databaseName);
+    }
+
+    public void cleanupFilestore(String databaseName) {
+        restClient.delete()
+            .uri("/databases/{db}/filestore", databaseName)
+            .retrieve()
+            .toBodilessEntity();
+        log.info("Worker removed filestore for: {}", databaseName);
+    }
+}
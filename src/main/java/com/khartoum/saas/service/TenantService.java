@@ -2,6 +2,7 @@ package com.khartoum.saas.service;
 
 import com.khartoum.saas.model.Tenant;
 import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.model.TenantTier;
 import com.khartoum.saas.repository.TenantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,18 +20,25 @@ public class TenantService {
     private final Route53Service route53Service;
     
     @Transactional
-    public Tenant createTenant(String subdomain) {
-        if (tenantRepository.existsBySubdomain(subdomain)) {
-            throw new IllegalArgumentException("Tenant already exists");
-        }
-        
+    public Tenant createTenant(String subdomain, TenantTier tier) {
         Tenant tenant = new Tenant();
         tenant.setSubdomain(subdomain);
         tenant.setDomain("42khartoum.com");
         tenant.setDatabaseName(subdomain + ".42khartoum.com");
         tenant.setUrl("https://" + subdomain + ".42khartoum.com");
         tenant.setStatus(TenantStatus.REQUESTED);
-        tenant = tenantRepository.save(tenant);
+        tenant.setTier(tier != null ? tier : TenantTier.SHARED);
+        tenant.setBackendService(kubernetesService.resolveBackendService(tenant));
+        
+        // Single conflict-free insert instead of exists-then-save, so concurrent creates can't race
+        int inserted = tenantRepository.insertIfAbsent(tenant.getSubdomain(), tenant.getDomain(),
+            tenant.getDatabaseName(), tenant.getUrl(), tenant.getStatus().name(), tenant.getTier().name(),
+            tenant.getBackendService(), tenant.getCreatedAt());
+        if (inserted == 0) {
+            throw new IllegalArgumentException("Tenant already exists");
+        }
+        tenant = tenantRepository.findBySubdomain(subdomain)
+            .orElseThrow(() -> new IllegalStateException("Inserted tenant not found: " + subdomain));
         
         final Tenant finalTenant = tenant;
         new Thread(() -> provisionTenant(finalTenant)).start();
@@ -41,9 +49,24 @@ public class TenantService {
     private void provisionTenant(Tenant tenant) {
         try {
             updateStatus(tenant.getId(), TenantStatus.DNS_CREATING);
-            route53Service.createDnsRecord(tenant.getSubdomain(), tenant.getDomain());
-            
+            // Waiting for INSYNC holds no thread; the blocking Kubernetes steps get one once DNS is done
+            route53Service.createDnsRecord(tenant.getSubdomain(), tenant.getDomain())
+                .thenRunAsync(() -> provisionWorkload(tenant), r -> new Thread(r).start())
+                .exceptionally(e -> {
+                    log.error("Failed to provision tenant", e);
+                    markFailed(tenant.getId(), e);
+                    return null;
+                });
+        } catch (Exception e) {
+            log.error("Failed to provision tenant", e);
+            markFailed(tenant.getId(), e);
+        }
+    }
+    
+    private void provisionWorkload(Tenant tenant) {
+        try {
             updateStatus(tenant.getId(), TenantStatus.K8S_CREATING);
+            kubernetesService.createTenantWorkload(tenant);
             kubernetesService.createIngress(tenant);
             kubernetesService.createCertificate(tenant);
             
@@ -57,7 +80,7 @@ public class TenantService {
             updateStatus(tenant.getId(), TenantStatus.ACTIVE);
         } catch (Exception e) {
             log.error("Failed to provision tenant", e);
-            updateStatus(tenant.getId(), TenantStatus.FAILED);
+            markFailed(tenant.getId(), e);
         }
     }
     
@@ -71,10 +94,11 @@ public class TenantService {
         
         try {
             kubernetesService.deleteIngress(tenant);
+            kubernetesService.deleteTenantWorkload(tenant);
             kubernetesService.deleteCertificate(tenant);
             kubernetesService.dropDatabase(tenant);
             kubernetesService.cleanupFilestore(tenant);
-            route53Service.deleteDnsRecord(tenant.getSubdomain(), tenant.getDomain());
+            route53Service.deleteDnsRecord(tenant.getSubdomain(), tenant.getDomain()).join();
             tenant.setStatus(TenantStatus.DELETED);
             tenantRepository.save(tenant);
         } catch (Exception e) {
@@ -91,10 +115,27 @@ public class TenantService {
         return tenantRepository.findById(id);
     }
     
-    private void updateStatus(Long id, TenantStatus status) {
+    void updateStatus(Long id, TenantStatus status) {
         tenantRepository.findById(id).ifPresent(t -> {
             t.setStatus(status);
             tenantRepository.save(t);
         });
     }
+    
+    /**
+     * Marks the tenant FAILED with the root cause message, e.g. the Route53 throttling or
+     * Kubernetes error that outlasted the retries, rather than the generic wrapper.
+     */
+    private void markFailed(Long id, Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String message = root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+        tenantRepository.findById(id).ifPresent(t -> {
+            t.setStatus(TenantStatus.FAILED);
+            t.setErrorMessage(message);
+            tenantRepository.save(t);
+        });
+    }
 }
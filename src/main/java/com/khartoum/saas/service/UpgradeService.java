@@ -0,0 +1,226 @@
+package com.khartoum.saas.service;
+
+import com.khartoum.saas.dto.FleetUpgradeRequest;
+import com.khartoum.saas.model.FleetUpgrade;
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.model.UpgradeStatus;
+import com.khartoum.saas.repository.FleetUpgradeRepository;
+import com.khartoum.saas.repository.TenantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rolls "odoo -u all" across every ACTIVE tenant: a canary wave first, then the rest
+ * with bounded concurrency, halting once the failure rate crosses the threshold.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UpgradeService {
+    private static final Set<UpgradeStatus> IN_PROGRESS =
+        EnumSet.of(UpgradeStatus.PENDING, UpgradeStatus.CANARY, UpgradeStatus.RUNNING);
+
+    private final TenantRepository tenantRepository;
+    private final FleetUpgradeRepository upgradeRepository;
+    private final KubernetesService kubernetesService;
+
+    private final Map<Long, AtomicBoolean> haltFlags = new ConcurrentHashMap<>();
+
+    @Value("${odoo.image}")
+    private String odooImage;
+
+    /**
+     * Rollouts run in this process and their halt flags live in memory, so any upgrade still
+     * in flight when the manager stopped can neither finish nor be halted; mark it FAILED.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failOrphanedUpgrades() {
+        for (FleetUpgrade upgrade : upgradeRepository.findByStatusIn(IN_PROGRESS)) {
+            log.warn("Marking fleet upgrade {} FAILED: interrupted by manager restart", upgrade.getId());
+            updateStatus(upgrade.getId(), UpgradeStatus.FAILED, "Interrupted by manager restart");
+        }
+    }
+
+    /**
+     * Starts a rollout. Only one runs at a time: two would run concurrent "odoo -u all" Jobs
+     * against every tenant database. Checked and inserted under the same lock.
+     *
+     * @throws IllegalStateException if another upgrade is pending or running
+     */
+    public synchronized FleetUpgrade startUpgrade(FleetUpgradeRequest request) {
+        if (upgradeRepository.existsByStatusIn(IN_PROGRESS)) {
+            throw new IllegalStateException("A fleet upgrade is already in progress");
+        }
+
+        List<Tenant> tenants = tenantRepository.findByStatus(TenantStatus.ACTIVE);
+
+        FleetUpgrade upgrade = new FleetUpgrade();
+        upgrade.setImage(request.getImage() != null && !request.getImage().isBlank() ? request.getImage() : odooImage);
+        upgrade.setConcurrency(request.getConcurrency());
+        upgrade.setCanaryPercent(request.getCanaryPercent());
+        upgrade.setMaxFailurePercent(request.getMaxFailurePercent());
+        upgrade.setTotalTenants(tenants.size());
+        upgrade = upgradeRepository.save(upgrade);
+
+        haltFlags.put(upgrade.getId(), new AtomicBoolean(false));
+        final FleetUpgrade started = upgrade;
+        new Thread(() -> runUpgrade(started.getId(), tenants), "fleet-upgrade-" + upgrade.getId()).start();
+
+        return upgrade;
+    }
+
+    /**
+     * @throws IllegalStateException if the upgrade is not running in this manager
+     */
+    public void haltUpgrade(Long id) {
+        AtomicBoolean flag = haltFlags.get(id);
+        if (flag == null) {
+            throw new IllegalStateException("Upgrade is not running");
+        }
+        flag.set(true);
+        log.info("Halt requested for fleet upgrade {}", id);
+    }
+
+    public Optional<FleetUpgrade> getUpgrade(Long id) {
+        return upgradeRepository.findById(id);
+    }
+
+    public List<FleetUpgrade> getAllUpgrades() {
+        return upgradeRepository.findAllByOrderByCreatedAtDesc();
+    }
+
+    private void runUpgrade(Long upgradeId, List<Tenant> tenants) {
+        FleetUpgrade upgrade = upgradeRepository.findById(upgradeId).orElseThrow();
+        AtomicBoolean halted = haltFlags.get(upgradeId);
+        ExecutorService pool = Executors.newFixedThreadPool(upgrade.getConcurrency());
+
+        try {
+            int canaryCount = upgrade.getCanaryPercent() == 0 ? 0
+                : Math.max(1, (int) Math.ceil(tenants.size() * upgrade.getCanaryPercent() / 100.0));
+            canaryCount = Math.min(canaryCount, tenants.size());
+
+            if (canaryCount > 0) {
+                updateStatus(upgradeId, UpgradeStatus.CANARY, null);
+                runWave(upgrade, tenants.subList(0, canaryCount), pool, halted, false);
+                if (!halted.get() && failureRateExceeded(upgradeId, 1)) {
+                    halted.set(true);
+                    updateStatus(upgradeId, UpgradeStatus.HALTED, "Canary failure rate above threshold");
+                }
+            }
+
+            if (!halted.get()) {
+                updateStatus(upgradeId, UpgradeStatus.RUNNING, null);
+                runWave(upgrade, tenants.subList(canaryCount, tenants.size()), pool, halted, true);
+            }
+
+            FleetUpgrade current = upgradeRepository.findById(upgradeId).orElseThrow();
+            if (current.getStatus() != UpgradeStatus.HALTED) {
+                updateStatus(upgradeId, halted.get() ? UpgradeStatus.HALTED : UpgradeStatus.COMPLETED,
+                    halted.get() ? "Halted by operator" : null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            updateStatus(upgradeId, UpgradeStatus.FAILED, "Interrupted");
+        } catch (Exception e) {
+            log.error("Fleet upgrade {} failed", upgradeId, e);
+            updateStatus(upgradeId, UpgradeStatus.FAILED, e.getMessage());
+        } finally {
+            pool.shutdownNow();
+            haltFlags.remove(upgradeId);
+        }
+    }
+
+    /**
+     * Submits the tenants with at most {@code concurrency} Jobs in flight and waits for them to finish.
+     * Tenants are only submitted while the rollout has not been halted.
+     */
+    private void runWave(FleetUpgrade upgrade, List<Tenant> tenants, ExecutorService pool,
+                         AtomicBoolean halted, boolean checkThreshold) throws InterruptedException {
+        Semaphore slots = new Semaphore(upgrade.getConcurrency());
+
+        for (Tenant tenant : tenants) {
+            if (halted.get()) {
+                break;
+            }
+            slots.acquire();
+            pool.submit(() -> {
+                try {
+                    upgradeTenant(upgrade, tenant);
+                    if (checkThreshold && !halted.get() && failureRateExceeded(upgrade.getId(), upgrade.getConcurrency())) {
+                        halted.set(true);
+                        updateStatus(upgrade.getId(), UpgradeStatus.HALTED, "Failure rate above threshold");
+                    }
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+
+        // Wait for in-flight Jobs of this wave to drain
+        slots.acquire(upgrade.getConcurrency());
+        slots.release(upgrade.getConcurrency());
+    }
+
+    private void upgradeTenant(FleetUpgrade upgrade, Tenant tenant) {
+        try {
+            kubernetesService.upgradeDatabase(tenant, upgrade.getImage(), upgrade.getId());
+            recordResult(upgrade.getId(), tenant, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recordResult(upgrade.getId(), tenant, false);
+        } catch (Exception e) {
+            log.error("Upgrade of tenant {} failed", tenant.getSubdomain(), e);
+            recordResult(upgrade.getId(), tenant, false);
+        }
+    }
+
+    private synchronized void recordResult(Long upgradeId, Tenant tenant, boolean success) {
+        upgradeRepository.findById(upgradeId).ifPresent(u -> {
+            if (success) {
+                u.setSucceeded(u.getSucceeded() + 1);
+            } else {
+                u.setFailed(u.getFailed() + 1);
+                u.setFailedTenants(u.getFailedTenants() == null
+                    ? tenant.getSubdomain() : u.getFailedTenants() + "," + tenant.getSubdomain());
+            }
+            upgradeRepository.save(u);
+        });
+    }
+
+    private synchronized boolean failureRateExceeded(Long upgradeId, int minSample) {
+        FleetUpgrade u = upgradeRepository.findById(upgradeId).orElseThrow();
+        int done = u.getSucceeded() + u.getFailed();
+        return done >= minSample && u.getFailed() * 100 > u.getMaxFailurePercent() * done;
+    }
+
+    private synchronized void updateStatus(Long upgradeId, UpgradeStatus status, String errorMessage) {
+        upgradeRepository.findById(upgradeId).ifPresent(u -> {
+            u.setStatus(status);
+            if (errorMessage != null) {
+                u.setErrorMessage(errorMessage);
+            }
+            if (status == UpgradeStatus.COMPLETED || status == UpgradeStatus.HALTED || status == UpgradeStatus.FAILED) {
+                u.setFinishedAt(LocalDateTime.now());
+            }
+            upgradeRepository.save(u);
+            log.info("Fleet upgrade {} is {}", upgradeId, status);
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.khartoum.saas.service;
+
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.model.TenantUsageSample;
+import com.khartoum.saas.model.UsageResolution;
+import com.khartoum.saas.repository.TenantRepository;
+import com.khartoum.saas.repository.TenantUsageSampleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UsageService {
+    private final TenantRepository tenantRepository;
+    private final TenantUsageSampleRepository usageRepository;
+    private final KubernetesService kubernetesService;
+
+    @Value("${usage.raw-retention-days}")
+    private int rawRetentionDays;
+
+    @Value("${usage.daily-retention-days}")
+    private int dailyRetentionDays;
+
+    public enum UsageMetric { DATABASE, FILESTORE, TOTAL }
+
+    /**
+     * Collects database and filestore sizes for all active tenants.
+     * One SQL query and one scan Job per run, regardless of tenant count.
+     */
+    @Scheduled(fixedDelayString = "${usage.collect-interval-ms}", initialDelayString = "${usage.initial-delay-ms}")
+    public void collect() {
+        List<Tenant> tenants = tenantRepository.findByStatus(TenantStatus.ACTIVE);
+        if (tenants.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> dbSizes = kubernetesService.getDatabaseSizes(
+            tenants.stream().map(Tenant::getDatabaseName).toList());
+
+        Map<String, Long> filestoreSizes;
+        try {
+            filestoreSizes = kubernetesService.scanFilestoreUsage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            log.error("Filestore usage scan failed, recording database sizes only", e);
+            filestoreSizes = Map.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TenantUsageSample> samples = new ArrayList<>(tenants.size());
+        for (Tenant tenant : tenants) {
+            TenantUsageSample sample = new TenantUsageSample();
+            sample.setTenantId(tenant.getId());
+            sample.setSampledAt(now);
+            sample.setDatabaseBytes(dbSizes.get(tenant.getDatabaseName()));
+            sample.setFilestoreBytes(filestoreSizes.get(tenant.getDatabaseName()));
+            samples.add(sample);
+        }
+        usageRepository.saveAll(samples);
+        log.info("Collected usage for {} tenants", samples.size());
+    }
+
+    /**
+     * Downsamples raw samples past their retention into one daily sample per tenant
+     * (keeping the daily peak) and drops daily samples past theirs.
+     */
+    @Scheduled(cron = "${usage.compaction-cron}")
+    @Transactional
+    public void compact() {
+        // The cutoff is a day boundary, so every day written here is complete
+        LocalDateTime rawCutoff = LocalDate.now().minusDays(rawRetentionDays).atStartOfDay();
+        int daily = usageRepository.insertDailyPeaks(rawCutoff);
+        int raw = usageRepository.deleteOlderThan(UsageResolution.RAW, rawCutoff);
+        int expired = usageRepository.deleteOlderThan(UsageResolution.DAILY,
+            LocalDate.now().minusDays(dailyRetentionDays).atStartOfDay());
+        log.info("Compacted {} raw usage samples into {} daily samples, expired {}", raw, daily, expired);
+    }
+
+    public List<TenantUsageSample> getUsage(Long tenantId, int days) {
+        return usageRepository.findByTenantIdAndSampledAtAfterOrderBySampledAtAsc(
+            tenantId, LocalDateTime.now().minusDays(days));
+    }
+
+    /**
+     * Returns the latest sample of the tenants using the most capacity for the given metric.
+     */
+    public List<TenantUsageSample> getTopUsage(UsageMetric metric, int limit) {
+        return usageRepository.findLatestSampledAt(UsageResolution.RAW)
+            .map(latest -> usageRepository.findByResolutionAndSampledAt(UsageResolution.RAW, latest).stream()
+                .sorted(Comparator.comparingLong((TenantUsageSample s) -> value(s, metric)).reversed())
+                .limit(limit)
+                .toList())
+            .orElse(List.of());
+    }
+
+    private static long value(TenantUsageSample s, UsageMetric metric) {
+        long db = s.getDatabaseBytes() != null ? s.getDatabaseBytes() : 0;
+        long fs = s.getFilestoreBytes() != null ? s.getFilestoreBytes() : 0;
+        return switch (metric) {
+            case DATABASE -> db;
+            case FILESTORE -> fs;
+            case TOTAL -> db + fs;
+        };
+    }
+}
@@ -0,0 +1,15 @@
+-- Schema as previously generated by Hibernate ddl-auto. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE tenants (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    subdomain     VARCHAR(255) NOT NULL UNIQUE,
+    domain        VARCHAR(255) NOT NULL,
+    database_name VARCHAR(255) NOT NULL UNIQUE,
+    url           VARCHAR(255) NOT NULL,
+    status        VARCHAR(255) NOT NULL,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    activated_at  TIMESTAMP(6),
+    error_message TEXT
+);
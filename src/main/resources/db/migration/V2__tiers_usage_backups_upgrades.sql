@@ -0,0 +1,52 @@
+-- Tenant tiers, usage samples, backups and fleet upgrades. IF NOT EXISTS throughout:
+-- databases that ran a build with ddl-auto: update may already have some of these.
+
+ALTER TABLE tenants ADD COLUMN IF NOT EXISTS tier VARCHAR(255);
+ALTER TABLE tenants ADD COLUMN IF NOT EXISTS backend_service VARCHAR(255);
+
+-- Tenants created before tiers all ran on the single shared "odoo" Service
+UPDATE tenants SET tier = 'SHARED' WHERE tier IS NULL;
+UPDATE tenants SET backend_service = 'odoo' WHERE backend_service IS NULL;
+
+CREATE TABLE IF NOT EXISTS tenant_usage_samples (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tenant_id       BIGINT NOT NULL,
+    sampled_at      TIMESTAMP(6) NOT NULL,
+    resolution      VARCHAR(16) NOT NULL,
+    database_bytes  BIGINT,
+    filestore_bytes BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_usage_tenant_time ON tenant_usage_samples (tenant_id, sampled_at);
+CREATE INDEX IF NOT EXISTS idx_usage_resolution_time ON tenant_usage_samples (resolution, sampled_at);
+
+CREATE TABLE IF NOT EXISTS tenant_backups (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tenant_id         BIGINT NOT NULL,
+    database_name     VARCHAR(255) NOT NULL,
+    status            VARCHAR(16) NOT NULL,
+    full_backup       BOOLEAN NOT NULL,
+    dump_file         VARCHAR(255),
+    filestore_archive VARCHAR(255),
+    created_at        TIMESTAMP(6),
+    completed_at      TIMESTAMP(6),
+    error_message     TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_backup_tenant_time ON tenant_backups (tenant_id, created_at);
+
+CREATE TABLE IF NOT EXISTS fleet_upgrades (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    image               VARCHAR(255) NOT NULL,
+    status              VARCHAR(16) NOT NULL,
+    concurrency         INTEGER NOT NULL,
+    canary_percent      INTEGER NOT NULL,
+    max_failure_percent INTEGER NOT NULL,
+    total_tenants       INTEGER NOT NULL,
+    succeeded           INTEGER NOT NULL,
+    failed              INTEGER NOT NULL,
+    failed_tenants      TEXT,
+    created_at          TIMESTAMP(6),
+    finished_at         TIMESTAMP(6),
+    error_message       TEXT
+);
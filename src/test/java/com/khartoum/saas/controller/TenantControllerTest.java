@@ -0,0 +1,94 @@
+package com.khartoum.saas.controller;
+
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantTier;
+import com.khartoum.saas.service.IdempotencyService;
+import com.khartoum.saas.service.TenantService;
+import com.khartoum.saas.service.UsageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TenantControllerTest {
+
+    private final TenantService tenantService = mock(TenantService.class);
+    private final IdempotencyService idempotencyService = new IdempotencyService(60);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new TenantController(tenantService, mock(UsageService.class), idempotencyService))
+            .build();
+
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        tenant.setSubdomain("acme");
+        tenant.setUrl("https://acme.example.com");
+        when(tenantService.createTenant(anyString(), any(TenantTier.class))).thenReturn(tenant);
+        when(tenantService.getTenantById(1L)).thenReturn(Optional.of(tenant));
+    }
+
+    @Test
+    void retryWithSameKeyReplaysTheCreatedTenant() throws Exception {
+        mockMvc.perform(create("key-1", "acme")).andExpect(status().isCreated()).andExpect(jsonPath("$.id").value(1));
+        mockMvc.perform(create("key-1", "acme")).andExpect(status().isCreated()).andExpect(jsonPath("$.id").value(1));
+
+        verify(tenantService, times(1)).createTenant("acme", TenantTier.SHARED);
+    }
+
+    @Test
+    void keyReusedForDifferentRequestIsUnprocessable() throws Exception {
+        mockMvc.perform(create("key-1", "acme")).andExpect(status().isCreated());
+
+        mockMvc.perform(create("key-1", "globex")).andExpect(status().isUnprocessableEntity());
+
+        verify(tenantService, times(0)).createTenant("globex", TenantTier.SHARED);
+    }
+
+    @Test
+    void blankKeyIsBadRequest() throws Exception {
+        mockMvc.perform(create(" ", "acme")).andExpect(status().isBadRequest());
+
+        verify(tenantService, never()).createTenant(anyString(), any(TenantTier.class));
+    }
+
+    @Test
+    void overlongKeyIsBadRequest() throws Exception {
+        mockMvc.perform(create("k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), "acme"))
+            .andExpect(status().isBadRequest());
+
+        verify(tenantService, never()).createTenant(anyString(), any(TenantTier.class));
+    }
+
+    @Test
+    void createsWithoutKey() throws Exception {
+        mockMvc.perform(post("/api/tenants")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"subdomain\":\"acme\"}"))
+            .andExpect(status().isCreated());
+    }
+
+    private static MockHttpServletRequestBuilder create(String key, String subdomain) {
+        return post("/api/tenants")
+            .header("Idempotency-Key", key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"subdomain\":\"" + subdomain + "\"}");
+    }
+}
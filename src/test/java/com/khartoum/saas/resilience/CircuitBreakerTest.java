@@ -0,0 +1,100 @@
+package com.khartoum.saas.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 50;
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, OPEN_MILLIS);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isZero();
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isPositive();
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, OPEN_MILLIS);
+
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenAllowsExactlyOneTrial() throws InterruptedException {
+        CircuitBreaker breaker = open();
+        Thread.sleep(OPEN_MILLIS + 10);
+
+        assertThat(breaker.tryAcquirePermission()).isZero();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isPositive();
+        assertThat(breaker.tryAcquirePermission()).isPositive();
+    }
+
+    @Test
+    void successfulTrialCloses() throws InterruptedException {
+        CircuitBreaker breaker = open();
+        Thread.sleep(OPEN_MILLIS + 10);
+        assertThat(breaker.tryAcquirePermission()).isZero();
+
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isZero();
+        assertThat(breaker.tryAcquirePermission()).isZero();
+    }
+
+    @Test
+    void failedTrialReopens() throws InterruptedException {
+        CircuitBreaker breaker = open();
+        Thread.sleep(OPEN_MILLIS + 10);
+        assertThat(breaker.tryAcquirePermission()).isZero();
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isPositive();
+    }
+
+    @Test
+    void ignoredTrialReleasesTheSlot() throws InterruptedException {
+        CircuitBreaker breaker = open();
+        Thread.sleep(OPEN_MILLIS + 10);
+        assertThat(breaker.tryAcquirePermission()).isZero();
+        assertThat(breaker.tryAcquirePermission()).isPositive();
+
+        breaker.onIgnored();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isZero();
+    }
+
+    @Test
+    void awaitPermissionGivesUpAfterMaxWait() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 60_000);
+        breaker.onFailure();
+
+        assertThatThrownBy(() -> breaker.awaitPermission(20)).isInstanceOf(CircuitOpenException.class);
+    }
+
+    private static CircuitBreaker open() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, OPEN_MILLIS);
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+}
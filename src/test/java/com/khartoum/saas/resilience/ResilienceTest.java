@@ -0,0 +1,134 @@
+package com.khartoum.saas.resilience;
+
+import io.kubernetes.client.openapi.ApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilienceTest {
+
+    private final Resilience resilience = new Resilience(new MockEnvironment()
+        .withProperty("resilience.max-attempts", "3")
+        .withProperty("resilience.base-delay-ms", "1")
+        .withProperty("resilience.max-delay-ms", "5")
+        .withProperty("resilience.max-pause-seconds", "0")
+        .withProperty("resilience.kubernetes.requests-per-second", "1000")
+        .withProperty("resilience.kubernetes.burst", "100")
+        .withProperty("resilience.kubernetes.failure-threshold", "2")
+        .withProperty("resilience.kubernetes.open-seconds", "60")
+        .withProperty("resilience.route53.requests-per-second", "1000")
+        .withProperty("resilience.route53.burst", "100")
+        .withProperty("resilience.route53.failure-threshold", "2")
+        // Re-probes right away, so tests can reach the half-open state without waiting
+        .withProperty("resilience.route53.open-seconds", "0"));
+
+    @AfterEach
+    void shutdown() {
+        resilience.shutdown();
+    }
+
+    @Test
+    void retriesTransientErrors() throws ApiException {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = resilience.call(Dependency.KUBERNETES, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new ApiException(503, "Service Unavailable");
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void doesNotRetryBusinessErrors() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> resilience.call(Dependency.KUBERNETES, () -> {
+            calls.incrementAndGet();
+            throw new ApiException(409, "Conflict");
+        })).isInstanceOf(ApiException.class);
+
+        assertThat(calls).hasValue(1);
+        assertThat(resilience.getState(Dependency.KUBERNETES)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void serverErrorsOpenTheBreaker() {
+        // The third attempt finds the breaker open and, with no pause allowed, gives up
+        assertThatThrownBy(() -> resilience.call(Dependency.KUBERNETES, () -> {
+            throw new ApiException(500, "Internal Server Error");
+        })).isInstanceOf(CircuitOpenException.class);
+
+        assertThat(resilience.getState(Dependency.KUBERNETES)).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void throttlingIsRetriedWithoutOpeningTheBreaker() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> resilience.call(Dependency.KUBERNETES, () -> {
+            calls.incrementAndGet();
+            throw new ApiException(429, "Too Many Requests");
+        })).isInstanceOf(ApiException.class);
+
+        assertThat(calls).hasValue(3);
+        assertThat(resilience.getState(Dependency.KUBERNETES)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void errorDuringHalfOpenTrialReleasesTheTrial() throws ApiException {
+        assertThatThrownBy(() -> resilience.call(Dependency.ROUTE53, () -> {
+            throw new ApiException(500, "Internal Server Error");
+        })).isInstanceOf(ApiException.class);
+        assertThat(resilience.getState(Dependency.ROUTE53)).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> resilience.call(Dependency.ROUTE53, () -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        // With the trial still taken this would give up with CircuitOpenException
+        assertThat(resilience.call(Dependency.ROUTE53, () -> "ok")).isEqualTo("ok");
+        assertThat(resilience.getState(Dependency.ROUTE53)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void asyncErrorDuringHalfOpenTrialReleasesTheTrial() {
+        CompletableFuture<String> failing = resilience.callAsync(Dependency.ROUTE53, () ->
+            CompletableFuture.failedFuture(new ApiException(500, "Internal Server Error")));
+        assertThatThrownBy(failing::join).hasCauseInstanceOf(ApiException.class);
+        assertThat(resilience.getState(Dependency.ROUTE53)).isEqualTo(CircuitBreaker.State.OPEN);
+
+        CompletableFuture<String> error = resilience.callAsync(Dependency.ROUTE53, () -> {
+            throw new StackOverflowError();
+        });
+        assertThatThrownBy(error::join).hasCauseInstanceOf(StackOverflowError.class);
+
+        assertThat(resilience.callAsync(Dependency.ROUTE53, () -> CompletableFuture.completedFuture("ok")).join())
+            .isEqualTo("ok");
+    }
+
+    @Test
+    void asyncThrottlingIsRetriedWithoutOpeningTheBreaker() {
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = resilience.callAsync(Dependency.ROUTE53, () -> {
+            if (calls.incrementAndGet() < 3) {
+                return CompletableFuture.failedFuture(new ApiException(429, "Too Many Requests"));
+            }
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        assertThat(result.join()).isEqualTo("ok");
+        assertThat(calls).hasValue(3);
+        assertThat(resilience.getState(Dependency.ROUTE53)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,55 @@
+package com.khartoum.saas.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void burstIsAvailableImmediately() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isPositive();
+    }
+
+    @Test
+    void reservationsAreServedInOrderOneIntervalApart() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        assertThat(bucket.reserve()).isZero();
+
+        long previous = 0;
+        for (int i = 1; i <= 5; i++) {
+            long wait = bucket.reserve();
+            // Each waiter is queued one interval behind the previous one, give or take elapsed test time
+            assertThat(wait).isGreaterThan(previous)
+                .isBetween(i * INTERVAL_NANOS - TimeUnit.MILLISECONDS.toNanos(20), i * INTERVAL_NANOS);
+            previous = wait;
+        }
+    }
+
+    @Test
+    void zeroBurstStillAllowsOneCall() {
+        TokenBucket bucket = new TokenBucket(10, 0);
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isPositive();
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        bucket.reserve();
+
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(INTERVAL_NANOS) + 20);
+
+        assertThat(bucket.reserve()).isZero();
+    }
+}
@@ -0,0 +1,147 @@
+package com.khartoum.saas.service;
+
+import com.khartoum.saas.model.BackupStatus;
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantBackup;
+import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.repository.TenantBackupRepository;
+import com.khartoum.saas.repository.TenantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BackupServiceTest {
+
+    private static final long TENANT_ID = 1L;
+
+    private final TenantRepository tenantRepository = mock(TenantRepository.class);
+    private final TenantBackupRepository backupRepository = mock(TenantBackupRepository.class);
+    private final KubernetesService kubernetesService = mock(KubernetesService.class);
+    private final BackupService service = new BackupService(tenantRepository, backupRepository, kubernetesService, 1, 1);
+
+    private final Tenant tenant = new Tenant();
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        tenant.setId(TENANT_ID);
+        tenant.setSubdomain("acme");
+        tenant.setDatabaseName("odoo_acme");
+        tenant.setStatus(TenantStatus.ACTIVE);
+        when(tenantRepository.findById(TENANT_ID)).thenReturn(Optional.of(tenant));
+        when(backupRepository.save(any(TenantBackup.class))).thenAnswer(invocation -> {
+            TenantBackup backup = invocation.getArgument(0);
+            if (backup.getId() == null) {
+                backup.setId(ids.incrementAndGet());
+            }
+            return backup;
+        });
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void firstBackupIsFull() {
+        assertThat(service.createBackup(TENANT_ID, false).isFullBackup()).isTrue();
+    }
+
+    @Test
+    void backupAfterACompletedOneIsIncremental() {
+        latestBackup(BackupStatus.COMPLETED);
+
+        assertThat(service.createBackup(TENANT_ID, false).isFullBackup()).isFalse();
+    }
+
+    @Test
+    void backupAfterAFailedOneIsFull() {
+        latestBackup(BackupStatus.FAILED);
+
+        assertThat(service.createBackup(TENANT_ID, false).isFullBackup()).isTrue();
+    }
+
+    @Test
+    void requestedFullBackupIsFull() {
+        latestBackup(BackupStatus.COMPLETED);
+
+        assertThat(service.createBackup(TENANT_ID, true).isFullBackup()).isTrue();
+    }
+
+    @Test
+    void backupInProgressBlocksAnotherOne() {
+        when(backupRepository.existsByTenantIdAndStatusIn(eq(TENANT_ID), any())).thenReturn(true);
+
+        assertThatThrownBy(() -> service.createBackup(TENANT_ID, false)).isInstanceOf(IllegalStateException.class);
+        assertThat(service.createBackups(List.of(TENANT_ID), false)).isEmpty();
+    }
+
+    @Test
+    void restoreUsesTheChainFromTheLatestFullBackup() throws Exception {
+        List<TenantBackup> history = List.of(
+            completed(1, true), completed(2, false), completed(3, true), completed(4, false), completed(5, false));
+        TenantBackup restored = history.get(4);
+        when(backupRepository.findById(5L)).thenReturn(Optional.of(restored));
+        when(backupRepository.findByTenantIdAndStatusAndIdLessThanEqualOrderByIdAsc(TENANT_ID, BackupStatus.COMPLETED, 5L))
+            .thenReturn(history);
+
+        service.restoreBackup(5L, TENANT_ID);
+
+        verify(kubernetesService, timeout(5000)).restoreTenant(tenant, restored,
+            List.of("3-filestore.tar.gz", "4-filestore.tar.gz", "5-filestore.tar.gz"));
+    }
+
+    @Test
+    void restoreOfAFullBackupUsesOnlyItsOwnArchive() throws Exception {
+        List<TenantBackup> history = List.of(completed(1, true), completed(2, false), completed(3, true));
+        TenantBackup restored = history.get(2);
+        when(backupRepository.findById(3L)).thenReturn(Optional.of(restored));
+        when(backupRepository.findByTenantIdAndStatusAndIdLessThanEqualOrderByIdAsc(TENANT_ID, BackupStatus.COMPLETED, 3L))
+            .thenReturn(history);
+
+        service.restoreBackup(3L, TENANT_ID);
+
+        verify(kubernetesService, timeout(5000)).restoreTenant(tenant, restored, List.of("3-filestore.tar.gz"));
+    }
+
+    @Test
+    void restoreIntoATenantBeingProvisionedIsRejected() {
+        TenantBackup restored = completed(1, true);
+        when(backupRepository.findById(1L)).thenReturn(Optional.of(restored));
+        tenant.setStatus(TenantStatus.DB_INITIALIZING);
+
+        assertThatThrownBy(() -> service.restoreBackup(1L, TENANT_ID)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void latestBackup(BackupStatus status) {
+        TenantBackup latest = completed(1, true);
+        latest.setStatus(status);
+        when(backupRepository.findFirstByTenantIdOrderByIdDesc(TENANT_ID)).thenReturn(Optional.of(latest));
+    }
+
+    private static TenantBackup completed(long id, boolean full) {
+        TenantBackup backup = new TenantBackup();
+        backup.setId(id);
+        backup.setTenantId(TENANT_ID);
+        backup.setDatabaseName("odoo_acme");
+        backup.setStatus(BackupStatus.COMPLETED);
+        backup.setFullBackup(full);
+        backup.setDumpFile(id + ".dump");
+        backup.setFilestoreArchive(id + "-filestore.tar.gz");
+        return backup;
+    }
+}
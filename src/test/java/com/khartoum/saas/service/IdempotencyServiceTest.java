@@ -0,0 +1,113 @@
+package com.khartoum.saas.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private final IdempotencyService service = new IdempotencyService(60);
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentRequestsWithSameKeyRunTheActionOnce() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> service.execute("key", "acme|SHARED", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return 42L;
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<Long> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42L);
+        }
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void completedResultIsReplayed() {
+        AtomicInteger runs = new AtomicInteger();
+
+        Long first = service.execute("key", "acme|SHARED", () -> (long) runs.incrementAndGet());
+        Long second = service.execute("key", "acme|SHARED", () -> (long) runs.incrementAndGet());
+
+        assertThat(first).isEqualTo(1L);
+        assertThat(second).isEqualTo(1L);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void failureIsNotRememberedSoTheKeyCanBeRetried() {
+        assertThatThrownBy(() -> service.execute("key", "acme|SHARED", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        assertThat(service.execute("key", "acme|SHARED", () -> 7L)).isEqualTo(7L);
+    }
+
+    @Test
+    void errorFailsConcurrentWaitersInsteadOfHangingThem() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Long> creator = executor.submit(() -> service.execute("key", "acme|SHARED", () -> {
+            started.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+        started.await();
+        Future<Long> waiter = executor.submit(() -> service.execute("key", "acme|SHARED", () -> 1L));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> creator.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(service.execute("key", "acme|SHARED", () -> 3L)).isEqualTo(3L);
+    }
+
+    @Test
+    void keyReusedForDifferentRequestIsRejected() {
+        service.execute("key", "acme|SHARED", () -> 1L);
+
+        assertThatThrownBy(() -> service.execute("key", "other|SHARED", () -> 2L))
+            .isInstanceOf(IdempotencyService.KeyReusedException.class);
+    }
+
+    @Test
+    void rejectsOverlongKeys() {
+        assertThatThrownBy(() -> service.execute("k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1), "acme|SHARED", () -> 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.khartoum.saas.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KubernetesServiceNameTest {
+
+    private static final String LONGEST_SUBDOMAIN = "a" + "b".repeat(61) + "c";
+
+    @Test
+    void keepsShortNamesUnchanged() {
+        assertThat(KubernetesService.boundedName("odoo-tenant-alice")).isEqualTo("odoo-tenant-alice");
+    }
+
+    @Test
+    void boundsLongNamesToLabelLimit() {
+        String name = KubernetesService.boundedName("odoo-tenant-" + LONGEST_SUBDOMAIN);
+
+        assertThat(name).hasSizeLessThanOrEqualTo(63);
+        assertThat(name).matches("[a-z0-9]([-a-z0-9]*[a-z0-9])?");
+        assertThat(name).isEqualTo(KubernetesService.boundedName("odoo-tenant-" + LONGEST_SUBDOMAIN));
+    }
+
+    @Test
+    void keepsLongNamesDistinct() {
+        String a = KubernetesService.boundedName("odoo-tenant-" + LONGEST_SUBDOMAIN);
+        String b = KubernetesService.boundedName("odoo-tenant-" + LONGEST_SUBDOMAIN.replace('c', 'd'));
+
+        assertThat(a).isNotEqualTo(b);
+    }
+}
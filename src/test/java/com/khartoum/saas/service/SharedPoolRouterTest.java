@@ -0,0 +1,60 @@
+package com.khartoum.saas.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SharedPoolRouterTest {
+
+    private static final List<String> SUBDOMAINS = IntStream.range(0, 10_000)
+        .mapToObj(i -> "tenant-" + i)
+        .toList();
+
+    @Test
+    void routesDeterministically() {
+        SharedPoolRouter a = new SharedPoolRouter(List.of("odoo-a", "odoo-b", "odoo-c"));
+        SharedPoolRouter b = new SharedPoolRouter(List.of("odoo-c", "odoo-a", "odoo-b"));
+
+        for (String subdomain : SUBDOMAINS) {
+            assertThat(a.route(subdomain)).isEqualTo(b.route(subdomain));
+        }
+    }
+
+    @Test
+    void addingPoolOnlyMovesTenantsToTheNewPool() {
+        SharedPoolRouter before = new SharedPoolRouter(List.of("odoo-a", "odoo-b", "odoo-c"));
+        SharedPoolRouter after = new SharedPoolRouter(List.of("odoo-a", "odoo-b", "odoo-c", "odoo-d"));
+
+        long moved = 0;
+        for (String subdomain : SUBDOMAINS) {
+            String from = before.route(subdomain);
+            String to = after.route(subdomain);
+            if (!from.equals(to)) {
+                assertThat(to).isEqualTo("odoo-d");
+                moved++;
+            }
+        }
+        // Ideal is 1/4 of the tenants; virtual nodes keep it close
+        assertThat(moved).isBetween(SUBDOMAINS.size() / 8L, SUBDOMAINS.size() * 3 / 8L);
+    }
+
+    @Test
+    void spreadsTenantsAcrossPools() {
+        SharedPoolRouter router = new SharedPoolRouter(List.of("odoo-a", "odoo-b", "odoo-c"));
+
+        for (String pool : List.of("odoo-a", "odoo-b", "odoo-c")) {
+            long count = SUBDOMAINS.stream().filter(s -> router.route(s).equals(pool)).count();
+            assertThat(count).isBetween(SUBDOMAINS.size() / 6L, SUBDOMAINS.size() / 2L);
+        }
+    }
+
+    @Test
+    void rejectsEmptyPoolList() {
+        assertThatThrownBy(() -> new SharedPoolRouter(List.of()))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.khartoum.saas.service;
+
+import com.khartoum.saas.dto.FleetUpgradeRequest;
+import com.khartoum.saas.model.FleetUpgrade;
+import com.khartoum.saas.model.Tenant;
+import com.khartoum.saas.model.TenantStatus;
+import com.khartoum.saas.model.UpgradeStatus;
+import com.khartoum.saas.repository.FleetUpgradeRepository;
+import com.khartoum.saas.repository.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UpgradeServiceTest {
+
+    private final TenantRepository tenantRepository = mock(TenantRepository.class);
+    private final FleetUpgradeRepository upgradeRepository = mock(FleetUpgradeRepository.class);
+    private final KubernetesService kubernetesService = mock(KubernetesService.class);
+    private final UpgradeService service = new UpgradeService(tenantRepository, upgradeRepository, kubernetesService);
+
+    private FleetUpgrade stored;
+
+    @BeforeEach
+    void setUp() {
+        when(tenantRepository.findByStatus(TenantStatus.ACTIVE)).thenReturn(IntStream.range(0, 10)
+            .mapToObj(i -> {
+                Tenant tenant = new Tenant();
+                tenant.setId((long) i);
+                tenant.setSubdomain("t" + i);
+                return tenant;
+            })
+            .toList());
+        when(upgradeRepository.save(any(FleetUpgrade.class))).thenAnswer(invocation -> {
+            stored = invocation.getArgument(0);
+            if (stored.getId() == null) {
+                stored.setId(1L);
+            }
+            return stored;
+        });
+        when(upgradeRepository.findById(1L)).thenAnswer(invocation -> Optional.ofNullable(stored));
+    }
+
+    @Test
+    void canaryWaveIsSizedByPercentRoundedUp() throws Exception {
+        AtomicInteger canaryCalls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (stored.getStatus() == UpgradeStatus.CANARY) {
+                canaryCalls.incrementAndGet();
+            }
+            return null;
+        }).when(kubernetesService).upgradeDatabase(any(), anyString(), anyLong());
+
+        FleetUpgrade upgrade = awaitFinished(start(1, 25, 10));
+
+        assertThat(upgrade.getStatus()).isEqualTo(UpgradeStatus.COMPLETED);
+        assertThat(canaryCalls).hasValue(3);
+        assertThat(upgrade.getSucceeded()).isEqualTo(10);
+    }
+
+    @Test
+    void canaryFailureHaltsTheRollout() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            calls.incrementAndGet();
+            throw new RuntimeException("upgrade failed");
+        }).when(kubernetesService).upgradeDatabase(any(), anyString(), anyLong());
+
+        FleetUpgrade upgrade = awaitFinished(start(1, 20, 10));
+
+        assertThat(upgrade.getStatus()).isEqualTo(UpgradeStatus.HALTED);
+        assertThat(upgrade.getErrorMessage()).isEqualTo("Canary failure rate above threshold");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void failureRateAboveThresholdHaltsTheMainWave() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            calls.incrementAndGet();
+            throw new RuntimeException("upgrade failed");
+        }).when(kubernetesService).upgradeDatabase(any(), anyString(), anyLong());
+
+        FleetUpgrade upgrade = awaitFinished(start(2, 0, 50));
+
+        assertThat(upgrade.getStatus()).isEqualTo(UpgradeStatus.HALTED);
+        assertThat(upgrade.getErrorMessage()).isEqualTo("Failure rate above threshold");
+        assertThat(calls.get()).isLessThan(10);
+    }
+
+    @Test
+    void thresholdWaitsForAMinimumSample() throws Exception {
+        // t0 fails at once while the others are still running: 1 of 1 done is above 50%,
+        // but below a sample of one wave (concurrency 3) the threshold doesn't apply yet
+        doAnswer(invocation -> {
+            Tenant tenant = invocation.getArgument(0);
+            if (tenant.getSubdomain().equals("t0")) {
+                throw new RuntimeException("upgrade failed");
+            }
+            Thread.sleep(50);
+            return null;
+        }).when(kubernetesService).upgradeDatabase(any(), anyString(), anyLong());
+
+        FleetUpgrade upgrade = awaitFinished(start(3, 0, 50));
+
+        assertThat(upgrade.getStatus()).isEqualTo(UpgradeStatus.COMPLETED);
+        assertThat(upgrade.getFailed()).isEqualTo(1);
+        assertThat(upgrade.getSucceeded()).isEqualTo(9);
+        assertThat(upgrade.getFailedTenants()).isEqualTo("t0");
+    }
+
+    @Test
+    void rejectsASecondUpgradeWhileOneIsInProgress() {
+        when(upgradeRepository.existsByStatusIn(any())).thenReturn(true);
+
+        assertThatThrownBy(() -> start(1, 0, 10)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private FleetUpgrade start(int concurrency, int canaryPercent, int maxFailurePercent) {
+        FleetUpgradeRequest request = new FleetUpgradeRequest();
+        request.setImage("odoo:17");
+        request.setConcurrency(concurrency);
+        request.setCanaryPercent(canaryPercent);
+        request.setMaxFailurePercent(maxFailurePercent);
+        return service.startUpgrade(request);
+    }
+
+    private FleetUpgrade awaitFinished(FleetUpgrade upgrade) throws InterruptedException {
+        Set<UpgradeStatus> finished = Set.of(UpgradeStatus.COMPLETED, UpgradeStatus.HALTED, UpgradeStatus.FAILED);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!finished.contains(service.getUpgrade(upgrade.getId()).orElseThrow().getStatus())) {
+            assertThat(System.currentTimeMillis()).as("upgrade finished in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        return service.getUpgrade(upgrade.getId()).orElseThrow();
+    }
+}